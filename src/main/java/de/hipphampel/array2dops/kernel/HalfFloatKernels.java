@@ -0,0 +1,286 @@
+/*
+ * The MIT License
+ * Copyright © 2023 Johannes Hampel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.hipphampel.array2dops.kernel;
+
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.ShortVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Kernels converting between {@code float} and the 16 bit floating point formats fp16 (IEEE 754
+ * binary16) and bfloat16, whose bits are stored in {@code short} values.
+ * <p>
+ * Values are rounded to the nearest representable value, ties to even. Values exceeding the range
+ * of the 16 bit format become infinite. When converting {@code NaN} to fp16, the payload is not
+ * kept; bfloat16 keeps the upper bits of it.
+ * <p>
+ * If the Vector API is available (see {@link VectorSupport}), the bulk conversions are executed
+ * with SIMD instructions, otherwise by plain loops. Both variants produce the same results.
+ */
+public final class HalfFloatKernels {
+
+  private HalfFloatKernels() {
+  }
+
+  /**
+   * Converts a fp16 value to a {@code float}.
+   *
+   * @param half The bits of the fp16 value
+   *
+   * @return The value
+   */
+  public static float fp16ToFloat(short half) {
+    int bits = (half & 0x7fff) << 13;
+    int sign = (half & 0x8000) << 16;
+    if ((half & 0x7c00) == 0x7c00) {
+      // Infinity or NaN
+      return Float.intBitsToFloat(sign | bits | 0x7f800000);
+    }
+    // Rebias the exponent by a multiplication, this also normalizes subnormal values
+    return Float.intBitsToFloat(sign | Float.floatToRawIntBits(Float.intBitsToFloat(bits) * 0x1p112f));
+  }
+
+  /**
+   * Converts a {@code float} to a fp16 value.
+   *
+   * @param value The value
+   *
+   * @return The bits of the fp16 value
+   */
+  public static short floatToFp16(float value) {
+    int bits = Float.floatToRawIntBits(value);
+    int abs = bits & 0x7fffffff;
+    int result;
+    if (abs >= 0x47800000) {
+      // At least 65536, infinity or NaN
+      result = abs > 0x7f800000 ? 0x7e00 : 0x7c00;
+    } else if (abs < 0x38800000) {
+      // Subnormal fp16 value: the addition of 0.5 aligns the mantissa and rounds it
+      result = Float.floatToRawIntBits(Float.intBitsToFloat(abs) + 0.5f) - 0x3f000000;
+    } else {
+      // Rebias the exponent and round, a carry into the exponent is intended
+      result = (abs + 0xc8000fff + ((abs >>> 13) & 1)) >>> 13;
+    }
+    return (short) (result | ((bits >>> 16) & 0x8000));
+  }
+
+  /**
+   * Converts a bfloat16 value to a {@code float}.
+   *
+   * @param half The bits of the bfloat16 value
+   *
+   * @return The value
+   */
+  public static float bfloat16ToFloat(short half) {
+    return Float.intBitsToFloat(half << 16);
+  }
+
+  /**
+   * Converts a {@code float} to a bfloat16 value.
+   *
+   * @param value The value
+   *
+   * @return The bits of the bfloat16 value
+   */
+  public static short floatToBfloat16(float value) {
+    int bits = Float.floatToRawIntBits(value);
+    if ((bits & 0x7fffffff) > 0x7f800000) {
+      // Keep NaN a quiet NaN, even if the payload is in the lower bits only
+      return (short) ((bits >>> 16) | 0x40);
+    }
+    return (short) ((bits + 0x7fff + ((bits >>> 16) & 1)) >>> 16);
+  }
+
+  /**
+   * Converts {@code length} fp16 values of {@code src} to {@code floats}.
+   *
+   * @param src The source array
+   * @param srcOffset The first index in {@code src}
+   * @param dst The destination array
+   * @param dstOffset The first index in {@code dst}
+   * @param length The number of elements
+   */
+  public static void fp16ToFloat(short[] src, int srcOffset, float[] dst, int dstOffset, int length) {
+    if (VectorSupport.AVAILABLE) {
+      HalfFloatVectorKernels.fp16ToFloat(src, srcOffset, dst, dstOffset, length);
+    } else {
+      scalarFp16ToFloat(src, srcOffset, dst, dstOffset, length);
+    }
+  }
+
+  /**
+   * Converts {@code length} {@code floats} of {@code src} to fp16 values.
+   *
+   * @param src The source array
+   * @param srcOffset The first index in {@code src}
+   * @param dst The destination array
+   * @param dstOffset The first index in {@code dst}
+   * @param length The number of elements
+   */
+  public static void floatToFp16(float[] src, int srcOffset, short[] dst, int dstOffset, int length) {
+    if (VectorSupport.AVAILABLE) {
+      HalfFloatVectorKernels.floatToFp16(src, srcOffset, dst, dstOffset, length);
+    } else {
+      scalarFloatToFp16(src, srcOffset, dst, dstOffset, length);
+    }
+  }
+
+  /**
+   * Converts {@code length} bfloat16 values of {@code src} to {@code floats}.
+   *
+   * @param src The source array
+   * @param srcOffset The first index in {@code src}
+   * @param dst The destination array
+   * @param dstOffset The first index in {@code dst}
+   * @param length The number of elements
+   */
+  public static void bfloat16ToFloat(short[] src, int srcOffset, float[] dst, int dstOffset, int length) {
+    if (VectorSupport.AVAILABLE) {
+      HalfFloatVectorKernels.bfloat16ToFloat(src, srcOffset, dst, dstOffset, length);
+    } else {
+      scalarBfloat16ToFloat(src, srcOffset, dst, dstOffset, length);
+    }
+  }
+
+  /**
+   * Converts {@code length} {@code floats} of {@code src} to bfloat16 values.
+   *
+   * @param src The source array
+   * @param srcOffset The first index in {@code src}
+   * @param dst The destination array
+   * @param dstOffset The first index in {@code dst}
+   * @param length The number of elements
+   */
+  public static void floatToBfloat16(float[] src, int srcOffset, short[] dst, int dstOffset, int length) {
+    if (VectorSupport.AVAILABLE) {
+      HalfFloatVectorKernels.floatToBfloat16(src, srcOffset, dst, dstOffset, length);
+    } else {
+      scalarFloatToBfloat16(src, srcOffset, dst, dstOffset, length);
+    }
+  }
+
+  static void scalarFp16ToFloat(short[] src, int srcOffset, float[] dst, int dstOffset, int length) {
+    for (int i = 0; i < length; i++) {
+      dst[dstOffset + i] = fp16ToFloat(src[srcOffset + i]);
+    }
+  }
+
+  static void scalarFloatToFp16(float[] src, int srcOffset, short[] dst, int dstOffset, int length) {
+    for (int i = 0; i < length; i++) {
+      dst[dstOffset + i] = floatToFp16(src[srcOffset + i]);
+    }
+  }
+
+  static void scalarBfloat16ToFloat(short[] src, int srcOffset, float[] dst, int dstOffset, int length) {
+    for (int i = 0; i < length; i++) {
+      dst[dstOffset + i] = bfloat16ToFloat(src[srcOffset + i]);
+    }
+  }
+
+  static void scalarFloatToBfloat16(float[] src, int srcOffset, short[] dst, int dstOffset, int length) {
+    for (int i = 0; i < length; i++) {
+      dst[dstOffset + i] = floatToBfloat16(src[srcOffset + i]);
+    }
+  }
+}
+
+/**
+ * The SIMD variants of the kernels in {@link HalfFloatKernels}.
+ * <p>
+ * This class is loaded only if the Vector API is available. The {@code short} values are widened
+ * to {@code int} lanes, so that the bit manipulations of the scalar variants can be applied to all
+ * lanes at once; the remaining elements are processed by the scalar variant.
+ */
+final class HalfFloatVectorKernels {
+
+  static final VectorSpecies<Integer> INT_SPECIES = IntVector.SPECIES_PREFERRED;
+  static final VectorSpecies<Float> FLOAT_SPECIES = FloatVector.SPECIES_PREFERRED;
+  static final VectorSpecies<Short> SHORT_SPECIES = VectorSpecies.of(short.class, VectorShape.forBitSize(INT_SPECIES.length() * Short.SIZE));
+
+  private HalfFloatVectorKernels() {
+  }
+
+  static void fp16ToFloat(short[] src, int srcOffset, float[] dst, int dstOffset, int length) {
+    int i = 0;
+    for (int bound = INT_SPECIES.loopBound(length); i < bound; i += INT_SPECIES.length()) {
+      IntVector half = load(src, srcOffset + i);
+      IntVector bits = half.and(0x7fff).lanewise(VectorOperators.LSHL, 13);
+      IntVector sign = half.and(0x8000).lanewise(VectorOperators.LSHL, 16);
+      VectorMask<Integer> special = half.and(0x7c00).eq(0x7c00);
+      IntVector normal = bits.reinterpretAsFloats().mul(0x1p112f).reinterpretAsInts();
+      normal.blend(bits.or(0x7f800000), special).or(sign).reinterpretAsFloats().intoArray(dst, dstOffset + i);
+    }
+    HalfFloatKernels.scalarFp16ToFloat(src, srcOffset + i, dst, dstOffset + i, length - i);
+  }
+
+  static void floatToFp16(float[] src, int srcOffset, short[] dst, int dstOffset, int length) {
+    int i = 0;
+    for (int bound = INT_SPECIES.loopBound(length); i < bound; i += INT_SPECIES.length()) {
+      IntVector bits = FloatVector.fromArray(FLOAT_SPECIES, src, srcOffset + i).reinterpretAsInts();
+      IntVector abs = bits.and(0x7fffffff);
+      IntVector normal = abs.add(0xc8000fff)
+        .add(abs.lanewise(VectorOperators.LSHR, 13).and(1))
+        .lanewise(VectorOperators.LSHR, 13);
+      IntVector subnormal = abs.reinterpretAsFloats().add(0.5f).reinterpretAsInts().sub(0x3f000000);
+      IntVector special = IntVector.broadcast(INT_SPECIES, 0x7c00).blend(0x7e00, abs.compare(VectorOperators.GT, 0x7f800000));
+      IntVector result = normal
+        .blend(subnormal, abs.lt(0x38800000))
+        .blend(special, abs.compare(VectorOperators.GE, 0x47800000))
+        .or(bits.lanewise(VectorOperators.LSHR, 16).and(0x8000));
+      store(result, dst, dstOffset + i);
+    }
+    HalfFloatKernels.scalarFloatToFp16(src, srcOffset + i, dst, dstOffset + i, length - i);
+  }
+
+  static void bfloat16ToFloat(short[] src, int srcOffset, float[] dst, int dstOffset, int length) {
+    int i = 0;
+    for (int bound = INT_SPECIES.loopBound(length); i < bound; i += INT_SPECIES.length()) {
+      load(src, srcOffset + i).lanewise(VectorOperators.LSHL, 16).reinterpretAsFloats().intoArray(dst, dstOffset + i);
+    }
+    HalfFloatKernels.scalarBfloat16ToFloat(src, srcOffset + i, dst, dstOffset + i, length - i);
+  }
+
+  static void floatToBfloat16(float[] src, int srcOffset, short[] dst, int dstOffset, int length) {
+    int i = 0;
+    for (int bound = INT_SPECIES.loopBound(length); i < bound; i += INT_SPECIES.length()) {
+      IntVector bits = FloatVector.fromArray(FLOAT_SPECIES, src, srcOffset + i).reinterpretAsInts();
+      IntVector upper = bits.lanewise(VectorOperators.LSHR, 16);
+      IntVector rounded = bits.add(0x7fff).add(upper.and(1)).lanewise(VectorOperators.LSHR, 16);
+      VectorMask<Integer> nan = bits.and(0x7fffffff).compare(VectorOperators.GT, 0x7f800000);
+      store(rounded.blend(upper.or(0x40), nan), dst, dstOffset + i);
+    }
+    HalfFloatKernels.scalarFloatToBfloat16(src, srcOffset + i, dst, dstOffset + i, length - i);
+  }
+
+  private static IntVector load(short[] src, int offset) {
+    return (IntVector) ShortVector.fromArray(SHORT_SPECIES, src, offset).convertShape(VectorOperators.S2I, INT_SPECIES, 0);
+  }
+
+  private static void store(IntVector vector, short[] dst, int offset) {
+    ((ShortVector) vector.convertShape(VectorOperators.I2S, SHORT_SPECIES, 0)).intoArray(dst, offset);
+  }
+}
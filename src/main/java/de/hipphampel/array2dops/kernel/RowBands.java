@@ -0,0 +1,140 @@
+/*
+ * The MIT License
+ * Copyright © 2023 Johannes Hampel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.hipphampel.array2dops.kernel;
+
+import de.hipphampel.array2dops.model.ParallelExecution;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Splits operations on rows into bands, which are executed in parallel according to
+ * {@link ParallelExecution}.
+ */
+public final class RowBands {
+
+  /**
+   * Number of bands per thread of the pool, allows some load balancing.
+   */
+  static final int BANDS_PER_THREAD = 4;
+
+  /**
+   * An operation on a band of rows.
+   */
+  @FunctionalInterface
+  public interface Task {
+
+    /**
+     * Processes the rows {@code from} (inclusive) to {@code to} (exclusive).
+     *
+     * @param from The first row
+     * @param to The row after the last one
+     */
+    void run(int from, int to);
+  }
+
+  private RowBands() {
+  }
+
+  /**
+   * Runs {@code task} for the rows {@code 0} to {@code rows}.
+   * <p>
+   * If {@code parallel} is {@code true} and {@link ParallelExecution} allows it for the given
+   * number of cells, the rows are split into bands processed in parallel. Otherwise, the task is
+   * called once for all rows on the calling thread.
+   *
+   * @param parallel Whether the task may run in parallel
+   * @param rows The number of rows
+   * @param cells The number of cells affected by the task
+   * @param task The task
+   */
+  public static void forEach(boolean parallel, int rows, long cells, Task task) {
+    ForkJoinPool pool = parallel && rows > 1 ? ParallelExecution.getPool(cells) : null;
+    if (pool == null) {
+      if (rows > 0) {
+        task.run(0, rows);
+      }
+      return;
+    }
+    int bands = (int) Math.min(rows, (long) pool.getParallelism() * BANDS_PER_THREAD);
+    pool.invoke(new BandAction(task, rows, bands, 0, bands));
+  }
+
+  /**
+   * Finds the point to split the cells {@code from} (inclusive) to {@code to} (exclusive) of an
+   * array with the given width into two halves, the cells being numbered in row major order.
+   * <p>
+   * If the cells span more than one row, the split point is the start of a row, so that both
+   * halves consist of bands of rows. Otherwise, the row itself is split in the middle.
+   *
+   * @param from The index of the first cell
+   * @param to The index after the last cell
+   * @param width The width of the array
+   *
+   * @return The index of the first cell of the second half, or {@code -1}, if there are less than
+   * two cells
+   */
+  public static long splitPoint(long from, long to, int width) {
+    if (to - from < 2) {
+      return -1;
+    }
+    long firstRow = from / width;
+    long lastRow = (to - 1) / width;
+    if (firstRow == lastRow) {
+      return (from + to) >>> 1;
+    }
+    return ((firstRow + lastRow + 1) >>> 1) * width;
+  }
+
+  private static final class BandAction extends RecursiveAction {
+
+    private final transient Task task;
+    private final int rows;
+    private final int bands;
+    private final int fromBand;
+    private final int toBand;
+
+    BandAction(Task task, int rows, int bands, int fromBand, int toBand) {
+      this.task = task;
+      this.rows = rows;
+      this.bands = bands;
+      this.fromBand = fromBand;
+      this.toBand = toBand;
+    }
+
+    @Override
+    protected void compute() {
+      if (this.toBand - this.fromBand == 1) {
+        this.task.run(firstRow(this.fromBand), firstRow(this.toBand));
+      } else {
+        int middle = (this.fromBand + this.toBand) >>> 1;
+        invokeAll(
+          new BandAction(this.task, this.rows, this.bands, this.fromBand, middle),
+          new BandAction(this.task, this.rows, this.bands, middle, this.toBand));
+      }
+    }
+
+    private int firstRow(int band) {
+      return (int) ((long) this.rows * band / this.bands);
+    }
+  }
+}
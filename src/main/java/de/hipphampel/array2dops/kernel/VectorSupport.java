@@ -0,0 +1,82 @@
+/*
+ * The MIT License
+ * Copyright © 2023 Johannes Hampel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.hipphampel.array2dops.kernel;
+
+import java.util.Optional;
+import jdk.incubator.vector.VectorShape;
+
+/**
+ * Detects, whether the kernels may use the Vector API.
+ * <p>
+ * The Vector API is an incubator module in Java 17, so it is only available, if the application
+ * is started with {@code --add-modules jdk.incubator.vector}. In addition, the preferred vector
+ * shape must hold more than one 64 bit lane, otherwise the SIMD variants would be slower than
+ * the plain loops. Setting the system property {@code de.hipphampel.array2dops.vector} to
+ * {@code false} disables the Vector API explicitly.
+ */
+public final class VectorSupport {
+
+  /**
+   * Name of the system property to disable the Vector API.
+   */
+  public static final String PROPERTY = "de.hipphampel.array2dops.vector";
+
+  static final boolean AVAILABLE = detect();
+
+  private VectorSupport() {
+  }
+
+  /**
+   * Indicates, whether the kernels use the Vector API.
+   *
+   * @return {@code true}, if so
+   */
+  public static boolean isAvailable() {
+    return AVAILABLE;
+  }
+
+  private static boolean detect() {
+    if (!Boolean.parseBoolean(System.getProperty(PROPERTY, "true"))) {
+      return false;
+    }
+    Optional<Module> module = ModuleLayer.boot().findModule("jdk.incubator.vector");
+    if (module.isEmpty() || !VectorSupport.class.getModule().canRead(module.get())) {
+      return false;
+    }
+    try {
+      return Shape.preferredBitSize() > Long.SIZE;
+    } catch (LinkageError e) {
+      return false;
+    }
+  }
+
+  /**
+   * Separate class, so that the Vector API is not touched before its presence is checked.
+   */
+  private static final class Shape {
+
+    static int preferredBitSize() {
+      return VectorShape.preferredShape().vectorBitSize();
+    }
+  }
+}
@@ -37,6 +37,12 @@
  *   Double2DArray result3 = DoubleMatrix.scalarMul(matrix1, matrix2); // scalar multiplication
  * </pre>
  * <p>
+ * In order to compute element-wise formulas without temporary arrays, there are lazy expressions
+ * for the numeric primitive types, for example {@link de.hipphampel.array2dops.matrix.DoubleExpression}:
+ * <pre>
+ *   Double2DArray result = DoubleExpression.of(matrix1).multiply(2).add(matrix2).evaluate(); // single pass
+ * </pre>
+ * <p>
  * For a complete list of the available methods, please refer to the class documentation.
  */
 package de.hipphampel.array2dops.matrix;
\ No newline at end of file
@@ -0,0 +1,46 @@
+/*
+ * The MIT License
+ * Copyright © 2023 Johannes Hampel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.hipphampel.array2dops.model;
+
+/**
+ * Describes how the channels of a multi-channel array, like {@link MultiChannelFloat2DArray}, are
+ * laid out in memory.
+ */
+public enum ChannelLayout {
+
+  /**
+   * Each channel is stored in its own plane, the planes are stored one after the other.
+   * <p>
+   * Processing a single channel walks over contiguous memory, whereas accessing all channels of a
+   * cell touches one location per plane.
+   */
+  PLANAR,
+
+  /**
+   * The channels of a cell are stored next to each other, like the color components of a pixel.
+   * <p>
+   * Accessing all channels of a cell is cheap, whereas processing a single channel strides over
+   * the other channels.
+   */
+  INTERLEAVED
+}
@@ -0,0 +1,235 @@
+/*
+ * The MIT License
+ * Copyright © 2023 Johannes Hampel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.hipphampel.array2dops.model;
+
+import de.hipphampel.array2dops.kernel.HalfFloatKernels;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * {@link Float2DArray} that stores its cells as 16 bit floating point values in a {@code short[]}.
+ * <p>
+ * The cells are stored in row major order, in the format given by {@link HalfPrecision}. Values
+ * are rounded when stored, so reading a cell returns the nearest value representable in the 16 bit
+ * format. Rows are converted at once by the kernels of {@link HalfFloatKernels}.
+ */
+class HalfFloat2DArrayImpl implements Float2DArray {
+
+  final short[] data;
+  final int width;
+  final int height;
+  final HalfPrecision format;
+
+  HalfFloat2DArrayImpl(int width, int height, HalfPrecision format) {
+    if (width < 0) {
+      throw new ArrayIndexOutOfBoundsException(String.format("width must not be negative, but is %d", width));
+    }
+    if (height < 0) {
+      throw new ArrayIndexOutOfBoundsException(String.format("height must not be negative, but is %d", height));
+    }
+    this.format = Objects.requireNonNull(format);
+    this.width = width;
+    this.height = height;
+    this.data = new short[Math.toIntExact((long) width * height)];
+  }
+
+  @Override
+  public int getWidth() {
+    return this.width;
+  }
+
+  @Override
+  public int getHeight() {
+    return this.height;
+  }
+
+  @Override
+  public boolean supportsParallelRowUpdates() {
+    return true;
+  }
+
+  @Override
+  public float getUnsafe(int x, int y) {
+    return decode(this.data[x + this.width * y]);
+  }
+
+  @Override
+  public void setUnsafe(int x, int y, float value) {
+    this.data[x + this.width * y] = encode(value);
+  }
+
+  @Override
+  public float[] toArray() {
+    float[] array = new float[this.data.length];
+    decode(this.data, 0, array, 0, this.data.length);
+    return array;
+  }
+
+  @Override
+  public float[] getRow(int x, int y, int length, float[] dst, int offset, int stride) {
+    if (stride != 1) {
+      return Float2DArray.super.getRow(x, y, length, dst, offset, stride);
+    }
+    Float2DArrayImpl.checkLine(dst.length, offset, length, stride);
+    checkRegion(x, y, length, 1);
+    decode(this.data, x + this.width * y, dst, offset, length);
+    return dst;
+  }
+
+  @Override
+  public Float2DArray setRow(int x, int y, int length, float[] src, int offset, int stride) {
+    if (stride != 1) {
+      return Float2DArray.super.setRow(x, y, length, src, offset, stride);
+    }
+    Float2DArrayImpl.checkLine(src.length, offset, length, stride);
+    checkRegion(x, y, length, 1);
+    encode(src, offset, this.data, x + this.width * y, length);
+    return this;
+  }
+
+  @Override
+  public void readRowSpans(int x, int y, int width, int height, RowSpanVisitor visitor) {
+    checkRegion(x, y, width, height);
+    float[] row = new float[width];
+    for (int dy = 0; dy < height && width > 0; dy++) {
+      decode(this.data, x + (y + dy) * this.width, row, 0, width);
+      visitor.visit(x, y + dy, row, 0, width);
+    }
+  }
+
+  @Override
+  public void updateRowSpans(int x, int y, int width, int height, RowSpanVisitor visitor) {
+    checkRegion(x, y, width, height);
+    float[] row = new float[width];
+    for (int dy = 0; dy < height && width > 0; dy++) {
+      int index = x + (y + dy) * this.width;
+      decode(this.data, index, row, 0, width);
+      visitor.visit(x, y + dy, row, 0, width);
+      encode(row, 0, this.data, index, width);
+    }
+  }
+
+  @Override
+  public Float2DArray copy() {
+    HalfFloat2DArrayImpl copy = new HalfFloat2DArrayImpl(this.width, this.height, this.format);
+    System.arraycopy(this.data, 0, copy.data, 0, this.data.length);
+    return copy;
+  }
+
+  @Override
+  public Float2DArray copyRegion(int x, int y, int width, int height) {
+    if (x == 0 && y == 0 && width == getWidth() && height == getHeight()) {
+      return copy();
+    }
+    checkRegion(x, y, width, height);
+    HalfFloat2DArrayImpl region = new HalfFloat2DArrayImpl(width, height, this.format);
+    for (int dy = 0; dy < height; dy++) {
+      System.arraycopy(this.data, x + (y + dy) * this.width, region.data, dy * width, width);
+    }
+    return region;
+  }
+
+  @Override
+  public Float2DArray fill(float value) {
+    Arrays.fill(this.data, encode(value));
+    return this;
+  }
+
+  @Override
+  public Float2DArray fillRegion(int x, int y, int width, int height, float value) {
+    checkRegion(x, y, width, height);
+    short encoded = encode(value);
+    for (int dy = y; dy < y + height; dy++) {
+      Arrays.fill(this.data, x + dy * this.width, x + dy * this.width + width, encoded);
+    }
+    return this;
+  }
+
+  @Override
+  public Float2DArray fillFrom(int x, int y, Float2DArray value) {
+    Float2DArray effectiveValue = value;
+    if (value instanceof ReadOnlyFloat2DArrayImpl roImpl) {
+      effectiveValue = roImpl.delegate;
+    }
+    boolean sameFormat = effectiveValue instanceof HalfFloat2DArrayImpl half && half.format == this.format;
+    if (!sameFormat && !(effectiveValue instanceof Float2DArrayImpl)) {
+      return Float2DArray.super.fillFrom(x, y, value);
+    }
+    int w = effectiveValue.getWidth();
+    int h = effectiveValue.getHeight();
+    checkRegion(x, y, w, h);
+    if (sameFormat) {
+      short[] src = ((HalfFloat2DArrayImpl) effectiveValue).data;
+      for (int dy = 0; dy < h; dy++) {
+        System.arraycopy(src, w * dy, this.data, x + (y + dy) * this.width, w);
+      }
+    } else {
+      float[] src = ((Float2DArrayImpl) effectiveValue).data;
+      for (int dy = 0; dy < h; dy++) {
+        encode(src, w * dy, this.data, x + (y + dy) * this.width, w);
+      }
+    }
+    return this;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    return defaultEquals(o);
+  }
+
+  @Override
+  public int hashCode() {
+    return defaultHashCode();
+  }
+
+  private void checkRegion(int x, int y, int width, int height) {
+    if (!isRegionInArray(x, y, width, height)) {
+      throw new ArrayIndexOutOfBoundsException(
+          String.format("Region x=%d, y=%d width=%d, height=%d is not in array with size width=%d and height=%d", x, y, width, height, getWidth(), getHeight()));
+    }
+  }
+
+  private float decode(short value) {
+    return this.format == HalfPrecision.FP16 ? HalfFloatKernels.fp16ToFloat(value) : HalfFloatKernels.bfloat16ToFloat(value);
+  }
+
+  private short encode(float value) {
+    return this.format == HalfPrecision.FP16 ? HalfFloatKernels.floatToFp16(value) : HalfFloatKernels.floatToBfloat16(value);
+  }
+
+  private void decode(short[] src, int srcOffset, float[] dst, int dstOffset, int length) {
+    if (this.format == HalfPrecision.FP16) {
+      HalfFloatKernels.fp16ToFloat(src, srcOffset, dst, dstOffset, length);
+    } else {
+      HalfFloatKernels.bfloat16ToFloat(src, srcOffset, dst, dstOffset, length);
+    }
+  }
+
+  private void encode(float[] src, int srcOffset, short[] dst, int dstOffset, int length) {
+    if (this.format == HalfPrecision.FP16) {
+      HalfFloatKernels.floatToFp16(src, srcOffset, dst, dstOffset, length);
+    } else {
+      HalfFloatKernels.floatToBfloat16(src, srcOffset, dst, dstOffset, length);
+    }
+  }
+}
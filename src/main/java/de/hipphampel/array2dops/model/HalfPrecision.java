@@ -0,0 +1,45 @@
+/*
+ * The MIT License
+ * Copyright © 2023 Johannes Hampel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.hipphampel.array2dops.model;
+
+/**
+ * The 16 bit floating point formats supported by
+ * {@link Float2DArray#newHalfPrecisionInstance(int, int, HalfPrecision)}.
+ */
+public enum HalfPrecision {
+
+  /**
+   * IEEE 754 binary16, having 5 exponent and 10 mantissa bits.
+   * <p>
+   * Gives about three decimal digits of precision, but the range is limited to about
+   * {@code ±65504}; values beyond become infinite.
+   */
+  FP16,
+
+  /**
+   * The upper 16 bits of a {@code float}, having 8 exponent and 7 mantissa bits.
+   * <p>
+   * Covers the full range of {@code float}, but gives only about two decimal digits of precision.
+   */
+  BFLOAT16
+}
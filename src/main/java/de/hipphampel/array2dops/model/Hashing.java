@@ -0,0 +1,122 @@
+/*
+ * The MIT License
+ * Copyright © 2023 Johannes Hampel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.hipphampel.array2dops.model;
+
+/**
+ * Arithmetic helpers to compute the hash codes of 2D arrays without visiting each cell.
+ * <p>
+ * The hash code of an array is a polynomial in {@code 31} over the hashes of its cells. Since all
+ * computations are done modulo {@code 2^32} and {@code 31} is odd, {@code 31} has a multiplicative
+ * inverse, which allows to compute the contribution of a cell or a run of equal cells directly
+ * from its position.
+ */
+final class Hashing {
+
+  /**
+   * The multiplicative inverse of {@code 31} modulo {@code 2^32}.
+   */
+  static final int INVERSE_31 = inverse(31);
+
+  private Hashing() {
+  }
+
+  /**
+   * Computes {@code base^exponent} modulo {@code 2^32}.
+   *
+   * @param base The base
+   * @param exponent The exponent, must not be negative
+   *
+   * @return The power
+   */
+  static int pow(int base, long exponent) {
+    int result = 1;
+    while (exponent > 0) {
+      if ((exponent & 1) != 0) {
+        result *= base;
+      }
+      base *= base;
+      exponent >>>= 1;
+    }
+    return result;
+  }
+
+  /**
+   * Computes {@code 31^0 + 31^1 + ... + 31^(n-1)} modulo {@code 2^32}.
+   *
+   * @param n The number of summands, must not be negative
+   *
+   * @return The sum
+   */
+  static int geometric31(long n) {
+    return geometric(31, n);
+  }
+
+  /**
+   * Computes {@code base^0 + base^1 + ... + base^(n-1)} modulo {@code 2^32}.
+   *
+   * @param base The base
+   * @param n The number of summands, must not be negative
+   *
+   * @return The sum
+   */
+  static int geometric(int base, long n) {
+    int sum = 0;
+    int pow = 1;
+    int blockPow = base;
+    int blockSum = 1;
+    while (n > 0) {
+      if ((n & 1) != 0) {
+        sum += pow * blockSum;
+        pow *= blockPow;
+      }
+      blockSum *= 1 + blockPow;
+      blockPow *= blockPow;
+      n >>>= 1;
+    }
+    return sum;
+  }
+
+  /**
+   * Computes the hash of a run of {@code n} cells having the same hash {@code cellHash}.
+   * <p>
+   * The result is what {@code result = result * 31 + cellHash}, executed {@code n} times
+   * starting with {@code result = 0}, yields.
+   *
+   * @param cellHash The hash of a single cell
+   * @param n The number of cells
+   *
+   * @return The hash of the run
+   */
+  static int run(int cellHash, long n) {
+    return cellHash * geometric31(n);
+  }
+
+  private static int inverse(int value) {
+    // Newton iteration, each step doubles the number of correct bits
+    int inverse = value;
+    for (int i = 0; i < 5; i++) {
+      inverse *= 2 - value * inverse;
+    }
+    return inverse;
+  }
+}
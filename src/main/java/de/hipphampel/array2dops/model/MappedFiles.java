@@ -0,0 +1,258 @@
+/*
+ * The MIT License
+ * Copyright © 2023 Johannes Hampel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.hipphampel.array2dops.model;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+
+/**
+ * Helper to create and open memory mapped files that contain the data of a 2D array.
+ * <p>
+ * Such a file starts with a header of {@link #HEADER_SIZE} bytes, which consists of four ints: a
+ * magic number, the element type, the width and the height. The magic number is written in the
+ * byte order of the data, so that the byte order can be detected when opening the file. The
+ * header is followed by the cells of the array in row major order.
+ * <p>
+ * Since a single mapping is limited to {@code Integer.MAX_VALUE} bytes, the data part is mapped
+ * as several segments, each of them containing a power of two number of rows.
+ */
+final class MappedFiles {
+
+  static final int MAGIC = 0x41324441;
+  static final int HEADER_SIZE = 16;
+
+  private static final Map<Class<?>, Integer> TYPE_IDS = Map.of(
+      byte.class, 1,
+      char.class, 2,
+      short.class, 3,
+      int.class, 4,
+      long.class, 5,
+      float.class, 6,
+      double.class, 7);
+  private static final Map<Class<?>, Integer> TYPE_SIZES = Map.of(
+      byte.class, Byte.BYTES,
+      char.class, Character.BYTES,
+      short.class, Short.BYTES,
+      int.class, Integer.BYTES,
+      long.class, Long.BYTES,
+      float.class, Float.BYTES,
+      double.class, Double.BYTES);
+  private static final Unmapper UNMAPPER = Unmapper.detect();
+
+  private MappedFiles() {
+  }
+
+  /**
+   * Creates a new file for an array of the given type and size and maps its data part read-write.
+   * <p>
+   * An already existing file is overwritten. The data is stored in the native byte order.
+   *
+   * @param path The path of the file
+   * @param elementType The element type, such as {@code int.class}
+   * @param width The width of the array
+   * @param height The height of the array
+   * @param maxSegmentBytes The maximum size of a segment
+   *
+   * @return The mapped data part of the file
+   * @throws IOException If the file cannot be created
+   */
+  static Mapping create(Path path, Class<?> elementType, int width, int height, long maxSegmentBytes) throws IOException {
+    long dataSize = dataSize(elementType, width, height);
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+        StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+      ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.nativeOrder());
+      header.putInt(0, MAGIC);
+      header.putInt(4, TYPE_IDS.get(elementType));
+      header.putInt(8, width);
+      header.putInt(12, height);
+      channel.write(header, 0);
+      return map(channel, MapMode.READ_WRITE, ByteOrder.nativeOrder(), elementType, width, height, maxSegmentBytes);
+    }
+  }
+
+  /**
+   * Opens an existing file and maps its data part.
+   *
+   * @param path The path of the file
+   * @param elementType The expected element type, such as {@code int.class}
+   * @param readOnly {@code true}, if the file should be mapped read-only
+   * @param maxSegmentBytes The maximum size of a segment
+   *
+   * @return The mapped file
+   * @throws IOException If the file cannot be opened or has not the expected format
+   */
+  static Mapping open(Path path, Class<?> elementType, boolean readOnly, long maxSegmentBytes) throws IOException {
+    try (FileChannel channel = readOnly
+        ? FileChannel.open(path, StandardOpenOption.READ)
+        : FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+      if (channel.size() < HEADER_SIZE) {
+        throw new IOException(String.format("File %s is too small to contain a header", path));
+      }
+      ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+      channel.read(header, 0);
+      ByteOrder order = detectByteOrder(path, header.getInt(0));
+      header.order(order);
+      int typeId = header.getInt(4);
+      int width = header.getInt(8);
+      int height = header.getInt(12);
+      if (typeId != TYPE_IDS.get(elementType)) {
+        throw new IOException(String.format("File %s does not contain an array of %s", path, elementType));
+      }
+      long dataSize = dataSize(elementType, width, height);
+      if (channel.size() < HEADER_SIZE + dataSize) {
+        throw new IOException(String.format("File %s is too small for an array of size %dx%d", path, width, height));
+      }
+      return map(channel, readOnly ? MapMode.READ_ONLY : MapMode.READ_WRITE, order, elementType, width, height, maxSegmentBytes);
+    }
+  }
+
+  /**
+   * Returns the binary logarithm of the number of rows per segment.
+   * <p>
+   * Each segment holds a power of two number of rows, so that the segment of a row can be found by a
+   * shift.
+   *
+   * @param rowBytes The number of bytes of a row
+   * @param maxSegmentBytes The maximum size of a segment
+   *
+   * @return The shift
+   * @throws ArrayIndexOutOfBoundsException if a single row does not fit into a segment
+   */
+  static int segmentRowShift(long rowBytes, long maxSegmentBytes) {
+    if (rowBytes > maxSegmentBytes) {
+      throw new ArrayIndexOutOfBoundsException(String.format("A row of %d bytes does not fit into a segment", rowBytes));
+    }
+    int shift = 0;
+    while (shift < 30 && (rowBytes << (shift + 1)) <= maxSegmentBytes) {
+      shift++;
+    }
+    return shift;
+  }
+
+  private static Mapping map(FileChannel channel, MapMode mode, ByteOrder order, Class<?> elementType, int width,
+      int height, long maxSegmentBytes) throws IOException {
+    long rowBytes = (long) width * TYPE_SIZES.get(elementType);
+    int rowShift = segmentRowShift(rowBytes, maxSegmentBytes);
+    int rowsPerSegment = 1 << rowShift;
+    MappedByteBuffer[] segments = new MappedByteBuffer[(int) (((long) height + rowsPerSegment - 1) >> rowShift)];
+    for (int i = 0; i < segments.length; i++) {
+      long firstRow = (long) i << rowShift;
+      long rows = Math.min(rowsPerSegment, height - firstRow);
+      segments[i] = channel.map(mode, HEADER_SIZE + firstRow * rowBytes, rows * rowBytes);
+      segments[i].order(order);
+    }
+    return new Mapping(segments, width, height, rowShift);
+  }
+
+  private static ByteOrder detectByteOrder(Path path, int magic) throws IOException {
+    if (magic == MAGIC) {
+      return ByteOrder.BIG_ENDIAN;
+    } else if (magic == Integer.reverseBytes(MAGIC)) {
+      return ByteOrder.LITTLE_ENDIAN;
+    }
+    throw new IOException(String.format("File %s is not a mapped 2D array", path));
+  }
+
+  private static long dataSize(Class<?> elementType, int width, int height) {
+    if (width < 0 || height < 0) {
+      throw new ArrayIndexOutOfBoundsException(String.format("Invalid size %dx%d", width, height));
+    }
+    long cells = (long) width * height;
+    if (cells > (Long.MAX_VALUE - HEADER_SIZE) / TYPE_SIZES.get(elementType)) {
+      throw new ArrayIndexOutOfBoundsException(String.format("Size %dx%d is too large for a mapped array", width, height));
+    }
+    return cells * TYPE_SIZES.get(elementType);
+  }
+
+  /**
+   * The mapped data part of a file.
+   *
+   * @param segments The segments, with the byte order set according to the file
+   * @param width The width of the array
+   * @param height The height of the array
+   * @param rowShift The binary logarithm of the number of rows per segment
+   */
+  record Mapping(MappedByteBuffer[] segments, int width, int height, int rowShift) {
+
+    /**
+     * Writes the changes made to the segments to the file.
+     */
+    void force() {
+      for (MappedByteBuffer segment : this.segments) {
+        segment.force();
+      }
+    }
+
+    /**
+     * Releases the segments.
+     * <p>
+     * If the platform does not allow to release a mapping explicitly, this happens as soon as the
+     * segments are garbage collected.
+     */
+    void unmap() {
+      for (MappedByteBuffer segment : this.segments) {
+        UNMAPPER.unmap(segment);
+      }
+    }
+  }
+
+  /**
+   * Releases a mapping via {@code sun.misc.Unsafe.invokeCleaner}, if this is available.
+   */
+  private record Unmapper(Object unsafe, Method invokeCleaner) {
+
+    static Unmapper detect() {
+      try {
+        Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+        Field field = unsafeClass.getDeclaredField("theUnsafe");
+        field.setAccessible(true);
+        return new Unmapper(field.get(null), unsafeClass.getMethod("invokeCleaner", ByteBuffer.class));
+      } catch (ReflectiveOperationException | RuntimeException e) {
+        return new Unmapper(null, null);
+      }
+    }
+
+    void unmap(MappedByteBuffer buffer) {
+      if (this.invokeCleaner == null) {
+        return;
+      }
+      try {
+        this.invokeCleaner.invoke(this.unsafe, buffer);
+      } catch (IllegalAccessException e) {
+        throw new IllegalStateException(e);
+      } catch (InvocationTargetException e) {
+        throw new IllegalStateException(e.getCause());
+      }
+    }
+  }
+}
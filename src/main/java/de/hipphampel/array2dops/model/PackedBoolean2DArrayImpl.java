@@ -0,0 +1,377 @@
+/*
+ * The MIT License
+ * Copyright © 2023 Johannes Hampel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.hipphampel.array2dops.model;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * {@link Boolean2DArray} that stores its cells as single bits in a {@code long[]}.
+ * <p>
+ * The cells are numbered in row major order, bit {@code i} of the array is bit {@code i % 64} of
+ * word {@code i / 64}. The bits beyond the last cell are always zero, so that words can be
+ * compared and counted without masking.
+ */
+class PackedBoolean2DArrayImpl implements Boolean2DArray {
+
+  final long[] words;
+  final int width;
+  final int height;
+
+  PackedBoolean2DArrayImpl(int width, int height) {
+    if (width < 0) {
+      throw new ArrayIndexOutOfBoundsException(String.format("width must not be negative, but is %d", width));
+    }
+    if (height < 0) {
+      throw new ArrayIndexOutOfBoundsException(String.format("height must not be negative, but is %d", height));
+    }
+    this.width = width;
+    this.height = height;
+    this.words = new long[Math.toIntExact(((long) width * height + 63) >>> 6)];
+  }
+
+  @Override
+  public int getWidth() {
+    return this.width;
+  }
+
+  @Override
+  public int getHeight() {
+    return this.height;
+  }
+
+  @Override
+  public boolean getUnsafe(int x, int y) {
+    long index = x + (long) this.width * y;
+    return (this.words[(int) (index >>> 6)] & (1L << index)) != 0;
+  }
+
+  @Override
+  public void setUnsafe(int x, int y, boolean value) {
+    long index = x + (long) this.width * y;
+    if (value) {
+      this.words[(int) (index >>> 6)] |= 1L << index;
+    } else {
+      this.words[(int) (index >>> 6)] &= ~(1L << index);
+    }
+  }
+
+  @Override
+  public boolean[] toArray() {
+    ChunkedBoolean2DArrayImpl.checkArraySize(this.width, this.height);
+    boolean[] array = new boolean[this.width * this.height];
+    for (int i = 0; i < array.length; i++) {
+      array[i] = (this.words[i >>> 6] & (1L << i)) != 0;
+    }
+    return array;
+  }
+
+  @Override
+  public Boolean2DArray copy() {
+    PackedBoolean2DArrayImpl copy = new PackedBoolean2DArrayImpl(this.width, this.height);
+    System.arraycopy(this.words, 0, copy.words, 0, this.words.length);
+    return copy;
+  }
+
+  @Override
+  public Boolean2DArray copyRegion(int x, int y, int width, int height) {
+    if (x == 0 && y == 0 && width == getWidth() && height == getHeight()) {
+      return copy();
+    }
+    if (!isRegionInArray(x, y, width, height)) {
+      throw new ArrayIndexOutOfBoundsException(
+          String.format("Region x=%d, y=%d width=%d, height=%d is not in array with size width=%d and height=%d", x, y, width, height, getWidth(), getHeight()));
+    }
+    PackedBoolean2DArrayImpl region = new PackedBoolean2DArrayImpl(width, height);
+    for (int dy = 0; dy < height; dy++) {
+      copyBits(this.words, x + (long) this.width * (y + dy), region.words, (long) width * dy, width);
+    }
+    return region;
+  }
+
+  @Override
+  public Boolean2DArray fill(boolean value) {
+    Arrays.fill(this.words, value ? -1L : 0L);
+    clearTail();
+    return this;
+  }
+
+  @Override
+  public Boolean2DArray fillRegion(int x, int y, int width, int height, boolean value) {
+    if (!isRegionInArray(x, y, width, height)) {
+      throw new ArrayIndexOutOfBoundsException(
+          String.format(
+              "Region x=%d, y=%d width=%d, height=%d is not in array with size width=%d and height=%d",
+              x, y, width, height, getWidth(), getHeight()));
+    }
+    if (width == this.width) {
+      setRange((long) this.width * y, (long) this.width * (y + height), value);
+      return this;
+    }
+    for (int dy = y; dy < y + height; dy++) {
+      long start = x + (long) this.width * dy;
+      setRange(start, start + width, value);
+    }
+    return this;
+  }
+
+  @Override
+  public Boolean2DArray fillFrom(int x, int y, Boolean2DArray value) {
+    Boolean2DArray effectiveValue = value;
+    if (value instanceof ReadOnlyBoolean2DArrayImpl roImpl) {
+      effectiveValue = roImpl.delegate;
+    }
+    if (!(effectiveValue instanceof PackedBoolean2DArrayImpl) && !(effectiveValue instanceof Boolean2DArrayImpl)) {
+      return Boolean2DArray.super.fillFrom(x, y, value);
+    }
+    int w = effectiveValue.getWidth();
+    int h = effectiveValue.getHeight();
+    if (!isRegionInArray(x, y, w, h)) {
+      throw new ArrayIndexOutOfBoundsException(
+          String.format(
+              "Region x=%d, y=%d width=%d, height=%d is not in array with size width=%d and height=%d",
+              x, y, w, h, getWidth(), getHeight()));
+    }
+    if (effectiveValue instanceof PackedBoolean2DArrayImpl packed) {
+      for (int dy = 0; dy < h; dy++) {
+        copyBits(packed.words, (long) w * dy, this.words, x + (long) this.width * (y + dy), w);
+      }
+    } else {
+      boolean[] data = ((Boolean2DArrayImpl) effectiveValue).data;
+      for (int dy = 0; dy < h; dy++) {
+        long target = x + (long) this.width * (y + dy);
+        // Pack up to 64 cells into a word and store them at once
+        for (int dx = 0; dx < w; dx += 64) {
+          int n = Math.min(64, w - dx);
+          long bits = 0;
+          for (int i = 0, offset = w * dy + dx; i < n; i++) {
+            if (data[offset + i]) {
+              bits |= 1L << i;
+            }
+          }
+          setBits(this.words, target + dx, n, bits);
+        }
+      }
+    }
+    return this;
+  }
+
+  @Override
+  public Boolean2DArray and(Boolean2DArray other) {
+    if (!(other instanceof PackedBoolean2DArrayImpl packed) || !hasSameSize(packed)) {
+      return Boolean2DArray.super.and(other);
+    }
+    for (int i = 0; i < this.words.length; i++) {
+      this.words[i] &= packed.words[i];
+    }
+    return this;
+  }
+
+  @Override
+  public Boolean2DArray or(Boolean2DArray other) {
+    if (!(other instanceof PackedBoolean2DArrayImpl packed) || !hasSameSize(packed)) {
+      return Boolean2DArray.super.or(other);
+    }
+    for (int i = 0; i < this.words.length; i++) {
+      this.words[i] |= packed.words[i];
+    }
+    return this;
+  }
+
+  @Override
+  public Boolean2DArray xor(Boolean2DArray other) {
+    if (!(other instanceof PackedBoolean2DArrayImpl packed) || !hasSameSize(packed)) {
+      return Boolean2DArray.super.xor(other);
+    }
+    for (int i = 0; i < this.words.length; i++) {
+      this.words[i] ^= packed.words[i];
+    }
+    return this;
+  }
+
+  @Override
+  public Boolean2DArray andNot(Boolean2DArray other) {
+    if (!(other instanceof PackedBoolean2DArrayImpl packed) || !hasSameSize(packed)) {
+      return Boolean2DArray.super.andNot(other);
+    }
+    for (int i = 0; i < this.words.length; i++) {
+      this.words[i] &= ~packed.words[i];
+    }
+    return this;
+  }
+
+  @Override
+  public Boolean2DArray not() {
+    for (int i = 0; i < this.words.length; i++) {
+      this.words[i] = ~this.words[i];
+    }
+    clearTail();
+    return this;
+  }
+
+  @Override
+  public long cardinality() {
+    long count = 0;
+    for (long word : this.words) {
+      count += Long.bitCount(word);
+    }
+    return count;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (o instanceof PackedBoolean2DArrayImpl packed) {
+      return hasSameSize(packed) && Arrays.equals(this.words, packed.words);
+    }
+    return defaultEquals(o);
+  }
+
+  @Override
+  public int hashCode() {
+    // Computes the same value as defaultHashCode: the cells are hashed column by column, so cell
+    // (x, y) has the exponent n - 1 - (x * height + y). Only the set bits need to be visited.
+    long n = (long) this.width * this.height;
+    int falseHash = 31 + Boolean.hashCode(false);
+    int trueHash = 31 + Boolean.hashCode(true);
+    int result = Objects.hash(this.width, this.height) * Hashing.pow(31, n) + Hashing.run(falseHash, n);
+    if (n == 0) {
+      return result;
+    }
+    int[] columnFactors = new int[this.width];
+    int columnStep = Hashing.pow(Hashing.INVERSE_31, this.height);
+    for (int x = 0, factor = 1; x < this.width; x++, factor *= columnStep) {
+      columnFactors[x] = factor;
+    }
+    int setBits = 0;
+    int rowFactor = 1;
+    for (int y = 0; y < this.height; y++, rowFactor *= Hashing.INVERSE_31) {
+      long start = (long) this.width * y;
+      long end = start + this.width;
+      int rowSum = 0;
+      for (long index = nextSetBit(start, end); index < end; index = nextSetBit(index + 1, end)) {
+        rowSum += columnFactors[(int) (index - start)];
+      }
+      setBits += rowSum * rowFactor;
+    }
+    return result + (trueHash - falseHash) * Hashing.pow(31, n - 1) * setBits;
+  }
+
+  private boolean hasSameSize(Boolean2DArray other) {
+    return this.width == other.getWidth() && this.height == other.getHeight();
+  }
+
+  private void clearTail() {
+    long n = (long) this.width * this.height;
+    if ((n & 63) != 0) {
+      this.words[this.words.length - 1] &= (1L << n) - 1;
+    }
+  }
+
+  private long nextSetBit(long from, long end) {
+    if (from >= end) {
+      return end;
+    }
+    int wordIndex = (int) (from >>> 6);
+    long word = this.words[wordIndex] & (-1L << from);
+    while (word == 0) {
+      if ((long) ++wordIndex << 6 >= end) {
+        return end;
+      }
+      word = this.words[wordIndex];
+    }
+    return Math.min(((long) wordIndex << 6) + Long.numberOfTrailingZeros(word), end);
+  }
+
+  private void setRange(long from, long to, boolean value) {
+    if (from >= to) {
+      return;
+    }
+    int first = (int) (from >>> 6);
+    int last = (int) ((to - 1) >>> 6);
+    long firstMask = -1L << from;
+    long lastMask = -1L >>> -to;
+    if (first == last) {
+      applyMask(first, firstMask & lastMask, value);
+      return;
+    }
+    applyMask(first, firstMask, value);
+    Arrays.fill(this.words, first + 1, last, value ? -1L : 0L);
+    applyMask(last, lastMask, value);
+  }
+
+  private void applyMask(int wordIndex, long mask, boolean value) {
+    if (value) {
+      this.words[wordIndex] |= mask;
+    } else {
+      this.words[wordIndex] &= ~mask;
+    }
+  }
+
+  /**
+   * Copies {@code length} bits from {@code src} starting at bit {@code srcPos} to {@code dst}
+   * starting at bit {@code dstPos}, 64 bits at a time.
+   */
+  static void copyBits(long[] src, long srcPos, long[] dst, long dstPos, long length) {
+    if (src == dst && srcPos < dstPos && dstPos < srcPos + length) {
+      // Overlapping, copy backwards
+      for (long done = length; done > 0; ) {
+        int n = (int) Math.min(64, done);
+        done -= n;
+        setBits(dst, dstPos + done, n, getBits(src, srcPos + done, n));
+      }
+      return;
+    }
+    for (long done = 0; done < length; ) {
+      int n = (int) Math.min(64, length - done);
+      setBits(dst, dstPos + done, n, getBits(src, srcPos + done, n));
+      done += n;
+    }
+  }
+
+  /**
+   * Reads {@code n} (1 to 64) bits starting at bit {@code pos}.
+   */
+  static long getBits(long[] words, long pos, int n) {
+    int index = (int) (pos >>> 6);
+    int shift = (int) (pos & 63);
+    long bits = words[index] >>> shift;
+    if (shift != 0 && shift + n > 64) {
+      bits |= words[index + 1] << -shift;
+    }
+    return n == 64 ? bits : bits & ((1L << n) - 1);
+  }
+
+  /**
+   * Writes the lower {@code n} (1 to 64) bits of {@code bits} starting at bit {@code pos}.
+   */
+  static void setBits(long[] words, long pos, int n, long bits) {
+    int index = (int) (pos >>> 6);
+    int shift = (int) (pos & 63);
+    long mask = n == 64 ? -1L : (1L << n) - 1;
+    bits &= mask;
+    words[index] = (words[index] & ~(mask << shift)) | (bits << shift);
+    if (shift != 0 && shift + n > 64) {
+      words[index + 1] = (words[index + 1] & ~(mask >>> -shift)) | (bits >>> -shift);
+    }
+  }
+}
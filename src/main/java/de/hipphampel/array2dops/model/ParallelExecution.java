@@ -0,0 +1,106 @@
+/*
+ * The MIT License
+ * Copyright © 2023 Johannes Hampel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.hipphampel.array2dops.model;
+
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Controls the parallel execution of bulk operations.
+ * <p>
+ * By default, all operations run on the calling thread. After calling {@link #enable(ForkJoinPool,
+ * long)}, bulk operations like {@code fill}, {@code fillRegion}, {@code fillFrom} and
+ * {@code copyTransform} as well as the dense operations of the matrix classes split their work into
+ * bands of rows and execute them in the given pool, provided that the number of affected cells
+ * reaches the threshold and the target array supports concurrent updates of its rows (see
+ * {@link Int2DArray#supportsParallelRowUpdates()}).
+ * <p>
+ * Each cell is still computed by exactly the same operations as in the sequential mode, so the
+ * results do not depend on the execution mode. Like in the sequential mode, the source of an
+ * operation must not share memory with its target.
+ */
+public final class ParallelExecution {
+
+  /**
+   * The default threshold, in number of cells.
+   */
+  public static final long DEFAULT_THRESHOLD = 1 << 18;
+
+  private static volatile Settings settings;
+
+  private ParallelExecution() {
+  }
+
+  /**
+   * Enables the parallel execution using the common pool and the {@link #DEFAULT_THRESHOLD}.
+   */
+  public static void enable() {
+    enable(ForkJoinPool.commonPool(), DEFAULT_THRESHOLD);
+  }
+
+  /**
+   * Enables the parallel execution.
+   *
+   * @param pool The pool to execute the operations in
+   * @param threshold The minimum number of cells an operation must affect to be executed in
+   *                  parallel
+   */
+  public static void enable(ForkJoinPool pool, long threshold) {
+    if (threshold < 0) {
+      throw new IllegalArgumentException(String.format("threshold must not be negative, but is %d", threshold));
+    }
+    settings = new Settings(Objects.requireNonNull(pool), threshold);
+  }
+
+  /**
+   * Disables the parallel execution.
+   */
+  public static void disable() {
+    settings = null;
+  }
+
+  /**
+   * Indicates, whether the parallel execution is enabled.
+   *
+   * @return {@code true}, if enabled
+   */
+  public static boolean isEnabled() {
+    return settings != null;
+  }
+
+  /**
+   * Gets the pool to execute an operation affecting {@code cells} cells in.
+   *
+   * @param cells The number of cells
+   *
+   * @return The pool, or {@code null}, if the operation should run on the calling thread
+   */
+  public static ForkJoinPool getPool(long cells) {
+    Settings current = settings;
+    return current != null && cells >= current.threshold() ? current.pool() : null;
+  }
+
+  private record Settings(ForkJoinPool pool, long threshold) {
+
+  }
+}
@@ -0,0 +1,99 @@
+/*
+ * The MIT License
+ * Copyright © 2023 Johannes Hampel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.hipphampel.array2dops.model;
+
+import de.hipphampel.array2dops.geom.Point;
+import de.hipphampel.array2dops.kernel.RowBands;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Spliterator over the coordinates of the cells of a 2D array, in row major order.
+ * <p>
+ * Splits into bands of rows, see {@link RowBands#splitPoint(long, long, int)}.
+ */
+final class PointSpliterator implements Spliterator<Point> {
+
+  private final int width;
+  private long index;
+  private final long fence;
+
+  /**
+   * Constructor.
+   *
+   * @param width The width of the array
+   * @param index The index of the first cell
+   * @param fence The index after the last cell
+   */
+  PointSpliterator(int width, long index, long fence) {
+    this.width = width;
+    this.index = index;
+    this.fence = fence;
+  }
+
+  @Override
+  public boolean tryAdvance(Consumer<? super Point> action) {
+    if (this.index >= this.fence) {
+      return false;
+    }
+    action.accept(new Point((int) (this.index % this.width), (int) (this.index / this.width)));
+    this.index++;
+    return true;
+  }
+
+  @Override
+  public void forEachRemaining(Consumer<? super Point> action) {
+    long to = this.fence;
+    int x = (int) (this.index % this.width);
+    int y = (int) (this.index / this.width);
+    for (long i = this.index; i < to; i++) {
+      action.accept(new Point(x, y));
+      if (++x == this.width) {
+        x = 0;
+        y++;
+      }
+    }
+    this.index = to;
+  }
+
+  @Override
+  public Spliterator<Point> trySplit() {
+    long middle = RowBands.splitPoint(this.index, this.fence, this.width);
+    if (middle < 0) {
+      return null;
+    }
+    PointSpliterator prefix = new PointSpliterator(this.width, this.index, middle);
+    this.index = middle;
+    return prefix;
+  }
+
+  @Override
+  public long estimateSize() {
+    return this.fence - this.index;
+  }
+
+  @Override
+  public int characteristics() {
+    return ORDERED | SIZED | SUBSIZED | NONNULL | DISTINCT | IMMUTABLE;
+  }
+}
@@ -0,0 +1,68 @@
+/*
+ * The MIT License
+ * Copyright © 2023 Johannes Hampel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.hipphampel.array2dops.model;
+
+/**
+ * Describes how the cells of a 2D array are laid out in memory.
+ * <p>
+ * It is passed to the {@code newInstance(width, height, layout)} factory methods of the array
+ * types in order to choose the implementation best suited for the intended access pattern.
+ */
+public enum StorageLayout {
+
+  /**
+   * The rows are stored one after the other.
+   * <p>
+   * This is the default layout. Walking along a row is cheap, whereas walking along a column
+   * strides over a complete row for each step.
+   */
+  ROW_MAJOR,
+
+  /**
+   * The array is divided into square tiles, each of them stored in its own block of memory.
+   * <p>
+   * Since neighbouring cells are close in memory regardless of the direction, walking along a
+   * column costs about the same as walking along a row. This also speeds up transposed or
+   * rotated access.
+   */
+  TILED,
+
+  /**
+   * The array is stored as a region quadtree, which collapses uniform square blocks to a single
+   * node.
+   * <p>
+   * This is suited for mostly uniform arrays, like canvases with a few details: filling aligned
+   * blocks and comparing or hashing uniform areas is cheap, and the memory footprint depends on
+   * the number of uniform blocks rather than on the area. Accessing a single cell costs
+   * {@code O(log n)}, and arrays with many details need more memory than {@link #ROW_MAJOR}.
+   */
+  QUADTREE,
+
+  /**
+   * Each row is stored in its own block of memory.
+   * <p>
+   * Reordering rows, like swapping, permuting, or rotating them, only moves references to the
+   * rows instead of copying the cells.
+   */
+  ROWS
+}
@@ -0,0 +1,39 @@
+/*
+ * The MIT License
+ * Copyright © 2023 Johannes Hampel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+/**
+ * Provides reductions of arrays, such as the sum, the mean or the minimum.
+ * <p>
+ * There are implementations for the numeric primitive types. For example, for arrays based on
+ * {@code doubles}, you can use the class {@link de.hipphampel.array2dops.reduce.DoubleReductions},
+ * which provides a set of static methods.
+ * <p>
+ * Some examples:
+ * <pre>
+ *   Double2DArray array = Double2DArray.newInstance(new double[]{1, 2, 3, 4, 5, 6}, 3, 2);
+ *
+ *   double sum = DoubleReductions.sum(array); // 21
+ *   double mean = DoubleReductions.mean(array); // 3.5
+ *   Point where = DoubleReductions.argMax(array); // (2, 1)
+ * </pre>
+ */
+package de.hipphampel.array2dops.reduce;
@@ -26,8 +26,15 @@
  */
 module de.hipphampel.array2dops {
 
+  // Optional, used by the kernels if present; see VectorSupport
+  requires static jdk.incubator.vector;
+  // Provides sun.misc.Unsafe.invokeCleaner, used to release memory mappings; see MappedFiles
+  requires jdk.unsupported;
+
   exports de.hipphampel.array2dops.draw;
+  exports de.hipphampel.array2dops.function;
   exports de.hipphampel.array2dops.geom;
   exports de.hipphampel.array2dops.matrix;
   exports de.hipphampel.array2dops.model;
+  exports de.hipphampel.array2dops.reduce;
 }
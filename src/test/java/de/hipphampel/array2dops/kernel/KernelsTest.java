@@ -0,0 +1,361 @@
+/*
+ * The MIT License
+ * Copyright © 2023 Johannes Hampel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.hipphampel.array2dops.kernel;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+public class KernelsTest {
+
+  private static final int MAX_LENGTH = 150;
+
+  private final Random random = new Random(4711);
+
+  @Test
+  public void isAvailable() {
+    // The tests run with and without the Vector API module; unless disabled the SIMD kernels are
+    // used if the module is present
+    boolean enabled = Boolean.parseBoolean(System.getProperty(VectorSupport.PROPERTY, "true"));
+    boolean present = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+    assertThat(VectorSupport.isAvailable()).isEqualTo(enabled && present);
+  }
+
+  @Test
+  public void intKernels_matchScalar() {
+    for (int length = 0; length < MAX_LENGTH; length++) {
+      int[] left = random.ints(length + 3, -1000, 1000).toArray();
+      int[] right = random.ints(length + 2).toArray();
+
+      int[] expected = left.clone();
+      int[] actual = left.clone();
+      IntKernels.scalarAdd(expected, 3, right, 2, length);
+      IntKernels.add(actual, 3, right, 2, length);
+      assertThat(actual).isEqualTo(expected);
+
+      IntKernels.scalarSub(expected, 1, right, 0, length);
+      IntKernels.sub(actual, 1, right, 0, length);
+      assertThat(actual).isEqualTo(expected);
+
+      IntKernels.scalarMul(expected, 0, right, 1, length);
+      IntKernels.mul(actual, 0, right, 1, length);
+      assertThat(actual).isEqualTo(expected);
+
+      IntKernels.scalarScale(expected, 2, length, -7);
+      IntKernels.scale(actual, 2, length, -7);
+      assertThat(actual).isEqualTo(expected);
+
+      IntKernels.scalarNegate(expected, 3, length);
+      IntKernels.negate(actual, 3, length);
+      assertThat(actual).isEqualTo(expected);
+
+      IntKernels.scalarFill(expected, 1, length, 42);
+      IntKernels.fill(actual, 1, length, 42);
+      assertThat(actual).isEqualTo(expected);
+
+      assertThat(IntKernels.equals(left, 3, left.clone(), 3, length)).isTrue();
+      if (length > 0) {
+        int[] other = left.clone();
+        other[3 + random.nextInt(length)]++;
+        assertThat(IntKernels.equals(left, 3, other, 3, length)).isFalse();
+        assertThat(IntKernels.min(left, 3, length)).isEqualTo(IntKernels.scalarMin(left, 3, length));
+        assertThat(IntKernels.max(left, 3, length)).isEqualTo(IntKernels.scalarMax(left, 3, length));
+      }
+
+      int[] large = random.ints(length * 20L, Integer.MAX_VALUE - 10, Integer.MAX_VALUE).toArray();
+      assertThat(IntKernels.sum(large, 0, large.length)).isEqualTo(IntKernels.scalarSum(large, 0, large.length));
+      assertThat(IntKernels.count(left, 3, length, left[0])).isEqualTo(IntKernels.scalarCount(left, 3, length, left[0]));
+    }
+  }
+
+  @Test
+  public void doubleKernels_matchScalar() {
+    for (int length = 0; length < MAX_LENGTH; length++) {
+      double[] left = random.doubles(length + 3, -1000, 1000).toArray();
+      double[] right = random.doubles(length + 2, -1000, 1000).toArray();
+
+      double[] expected = left.clone();
+      double[] actual = left.clone();
+      DoubleKernels.scalarAdd(expected, 3, right, 2, length);
+      DoubleKernels.add(actual, 3, right, 2, length);
+      assertThat(actual).isEqualTo(expected);
+
+      DoubleKernels.scalarSub(expected, 1, right, 0, length);
+      DoubleKernels.sub(actual, 1, right, 0, length);
+      assertThat(actual).isEqualTo(expected);
+
+      DoubleKernels.scalarMul(expected, 0, right, 1, length);
+      DoubleKernels.mul(actual, 0, right, 1, length);
+      assertThat(actual).isEqualTo(expected);
+
+      DoubleKernels.scalarScale(expected, 2, length, -0.7);
+      DoubleKernels.scale(actual, 2, length, -0.7);
+      assertThat(actual).isEqualTo(expected);
+
+      DoubleKernels.scalarNegate(expected, 3, length);
+      DoubleKernels.negate(actual, 3, length);
+      assertThat(actual).isEqualTo(expected);
+
+      assertThat(DoubleKernels.equals(left, 3, left.clone(), 3, length)).isTrue();
+      if (length > 0) {
+        assertThat(DoubleKernels.min(left, 3, length)).isEqualTo(DoubleKernels.scalarMin(left, 3, length));
+        assertThat(DoubleKernels.max(left, 3, length)).isEqualTo(DoubleKernels.scalarMax(left, 3, length));
+      }
+      assertThat(Double.doubleToRawLongBits(DoubleKernels.sum(left, 3, length)))
+          .isEqualTo(Double.doubleToRawLongBits(DoubleKernels.scalarSum(left, 3, length)));
+    }
+  }
+
+  @Test
+  public void floatKernels_matchScalar() {
+    for (int length = 0; length < MAX_LENGTH; length++) {
+      float[] left = new float[length + 3];
+      float[] right = new float[length + 2];
+      for (int i = 0; i < left.length; i++) {
+        left[i] = random.nextFloat() * 2000 - 1000;
+        right[Math.min(i, right.length - 1)] = random.nextFloat() * 2000 - 1000;
+      }
+
+      float[] expected = left.clone();
+      float[] actual = left.clone();
+      FloatKernels.scalarAdd(expected, 3, right, 2, length);
+      FloatKernels.add(actual, 3, right, 2, length);
+      assertThat(actual).isEqualTo(expected);
+
+      FloatKernels.scalarMul(expected, 0, right, 1, length);
+      FloatKernels.mul(actual, 0, right, 1, length);
+      assertThat(actual).isEqualTo(expected);
+
+      FloatKernels.scalarScale(expected, 2, length, -0.7f);
+      FloatKernels.scale(actual, 2, length, -0.7f);
+      assertThat(actual).isEqualTo(expected);
+
+      if (length > 0) {
+        assertThat(FloatKernels.min(left, 3, length)).isEqualTo(FloatKernels.scalarMin(left, 3, length));
+        assertThat(FloatKernels.max(left, 3, length)).isEqualTo(FloatKernels.scalarMax(left, 3, length));
+      }
+      assertThat(Double.doubleToRawLongBits(FloatKernels.sum(left, 3, length)))
+          .isEqualTo(Double.doubleToRawLongBits(FloatKernels.scalarSum(left, 3, length)));
+    }
+  }
+
+  @Test
+  public void gatherScatter_matchScalar() {
+    for (int stride = 1; stride <= 4; stride++) {
+      for (int length = 0; length < MAX_LENGTH; length++) {
+        int[] strided = random.ints(length * stride + 2).toArray();
+        int[] dense = random.ints(length + 1).toArray();
+
+        int[] expected = dense.clone();
+        int[] actual = dense.clone();
+        IntKernels.scalarGather(strided, 2, stride, expected, 1, length);
+        IntKernels.gather(strided, 2, stride, actual, 1, length);
+        assertThat(actual).isEqualTo(expected);
+
+        expected = strided.clone();
+        actual = strided.clone();
+        IntKernels.scalarScatter(dense, 1, expected, 1, stride, length);
+        IntKernels.scatter(dense, 1, actual, 1, stride, length);
+        assertThat(actual).isEqualTo(expected);
+
+        byte[] bytes = new byte[length * stride];
+        random.nextBytes(bytes);
+        byte[] expectedBytes = new byte[length];
+        byte[] actualBytes = new byte[length];
+        ByteKernels.scalarGather(bytes, 0, stride, expectedBytes, 0, length);
+        ByteKernels.gather(bytes, 0, stride, actualBytes, 0, length);
+        assertThat(actualBytes).isEqualTo(expectedBytes);
+      }
+    }
+  }
+
+  @Test
+  public void halfFloatKernels_fp16RoundTrip() {
+    for (int bits = 0; bits <= 0xffff; bits++) {
+      short half = (short) bits;
+      float value = HalfFloatKernels.fp16ToFloat(half);
+      if (Float.isNaN(value)) {
+        assertThat(HalfFloatKernels.floatToFp16(value) & 0x7c00).isEqualTo(0x7c00);
+      } else {
+        assertThat(HalfFloatKernels.floatToFp16(value)).isEqualTo(half);
+      }
+    }
+    assertThat(HalfFloatKernels.fp16ToFloat((short) 0x3c00)).isEqualTo(1f);
+    assertThat(HalfFloatKernels.fp16ToFloat((short) 0x7bff)).isEqualTo(65504f);
+    assertThat(HalfFloatKernels.fp16ToFloat((short) 0x0001)).isEqualTo(0x1p-24f);
+    assertThat(HalfFloatKernels.fp16ToFloat((short) 0xfc00)).isEqualTo(Float.NEGATIVE_INFINITY);
+  }
+
+  @Test
+  public void halfFloatKernels_roundToNearestEven() {
+    // 1 + 2^-11 is halfway between 1 and 1 + 2^-10, so it rounds to the even mantissa 1
+    assertThat(HalfFloatKernels.floatToFp16(1f + 0x1p-11f)).isEqualTo((short) 0x3c00);
+    assertThat(HalfFloatKernels.floatToFp16(1f + 0x1p-11f + 0x1p-20f)).isEqualTo((short) 0x3c01);
+    assertThat(HalfFloatKernels.floatToFp16(65520f)).isEqualTo((short) 0x7c00);
+    assertThat(HalfFloatKernels.floatToFp16(0x1p-25f)).isEqualTo((short) 0);
+    assertThat(HalfFloatKernels.floatToFp16(0x1.8p-25f)).isEqualTo((short) 1);
+    assertThat(HalfFloatKernels.floatToBfloat16(1f + 0x1p-8f)).isEqualTo((short) 0x3f80);
+    assertThat(HalfFloatKernels.floatToBfloat16(1f + 0x1p-8f + 0x1p-20f)).isEqualTo((short) 0x3f81);
+    assertThat(HalfFloatKernels.floatToBfloat16(Float.MAX_VALUE)).isEqualTo((short) 0x7f80);
+    assertThat(HalfFloatKernels.bfloat16ToFloat(HalfFloatKernels.floatToBfloat16(Float.intBitsToFloat(0x7f800001)))).isNaN();
+  }
+
+  @Test
+  public void halfFloatKernels_matchScalar() {
+    for (int length = 0; length < MAX_LENGTH; length++) {
+      float[] floats = new float[length + 1];
+      short[] halfs = new short[length + 2];
+      for (int i = 0; i < floats.length; i++) {
+        // Random bit patterns, including subnormals, infinities and NaNs
+        floats[i] = i % 3 == 0 ? Float.intBitsToFloat(random.nextInt()) : (float) random.nextGaussian() * 1000;
+      }
+      for (int i = 0; i < halfs.length; i++) {
+        halfs[i] = (short) random.nextInt();
+      }
+
+      short[] expectedHalfs = new short[length + 2];
+      short[] actualHalfs = new short[length + 2];
+      HalfFloatKernels.scalarFloatToFp16(floats, 1, expectedHalfs, 2, length);
+      HalfFloatKernels.floatToFp16(floats, 1, actualHalfs, 2, length);
+      assertThat(actualHalfs).isEqualTo(expectedHalfs);
+      HalfFloatKernels.scalarFloatToBfloat16(floats, 1, expectedHalfs, 0, length);
+      HalfFloatKernels.floatToBfloat16(floats, 1, actualHalfs, 0, length);
+      assertThat(actualHalfs).isEqualTo(expectedHalfs);
+
+      float[] expectedFloats = new float[length];
+      float[] actualFloats = new float[length];
+      HalfFloatKernels.scalarFp16ToFloat(halfs, 2, expectedFloats, 0, length);
+      HalfFloatKernels.fp16ToFloat(halfs, 2, actualFloats, 0, length);
+      assertThat(floatBits(actualFloats)).isEqualTo(floatBits(expectedFloats));
+      HalfFloatKernels.scalarBfloat16ToFloat(halfs, 1, expectedFloats, 0, length);
+      HalfFloatKernels.bfloat16ToFloat(halfs, 1, actualFloats, 0, length);
+      assertThat(floatBits(actualFloats)).isEqualTo(floatBits(expectedFloats));
+    }
+  }
+
+  private static int[] floatBits(float[] floats) {
+    int[] bits = new int[floats.length];
+    for (int i = 0; i < floats.length; i++) {
+      bits[i] = Float.floatToRawIntBits(floats[i]);
+    }
+    return bits;
+  }
+
+  @Test
+  public void byteKernels_wrapAround() {
+    for (int length = 0; length < MAX_LENGTH; length++) {
+      byte[] left = new byte[length];
+      byte[] right = new byte[length];
+      random.nextBytes(left);
+      random.nextBytes(right);
+
+      byte[] expected = left.clone();
+      byte[] actual = left.clone();
+      ByteKernels.scalarAdd(expected, 0, right, 0, length);
+      ByteKernels.add(actual, 0, right, 0, length);
+      assertThat(actual).isEqualTo(expected);
+
+      ByteKernels.scalarScale(expected, 0, length, (byte) 13);
+      ByteKernels.scale(actual, 0, length, (byte) 13);
+      assertThat(actual).isEqualTo(expected);
+
+      assertThat(ByteKernels.sum(left, 0, length)).isEqualTo(ByteKernels.scalarSum(left, 0, length));
+      assertThat(ShortKernels.sum(new short[]{Short.MAX_VALUE, Short.MAX_VALUE}, 0, 2)).isEqualTo(2L * Short.MAX_VALUE);
+    }
+  }
+
+  @Test
+  public void doubleKernels_floatingPointSemantics() {
+    for (int length = 1; length < MAX_LENGTH; length++) {
+      double[] array = random.doubles(length, -1, 1).toArray();
+      array[random.nextInt(length)] = -0.0;
+
+      assertThat(DoubleKernels.min(array, 0, length)).isEqualTo(DoubleKernels.scalarMin(array, 0, length));
+      assertThat(DoubleKernels.max(array, 0, length)).isEqualTo(DoubleKernels.scalarMax(array, 0, length));
+
+      double[] zeros = new double[length];
+      double[] negativeZeros = new double[length];
+      DoubleKernels.fill(negativeZeros, 0, length, -0.0);
+      assertThat(DoubleKernels.equals(zeros, 0, negativeZeros, 0, length)).isTrue();
+
+      array[random.nextInt(length)] = Double.NaN;
+      assertThat(DoubleKernels.equals(array, 0, array, 0, length)).isFalse();
+      assertThat(DoubleKernels.min(array, 0, length)).isNaN();
+      assertThat(DoubleKernels.max(array, 0, length)).isNaN();
+      assertThat(DoubleKernels.count(array, 0, length, Double.NaN)).isZero();
+    }
+  }
+
+  @Test
+  public void doubleKernels_sumIsPairwise() {
+    double[] array = new double[1 << 20];
+    Arrays.fill(array, 0.1);
+    double exact = new BigDecimal(0.1).multiply(BigDecimal.valueOf(array.length)).doubleValue();
+    double naive = 0;
+    for (double value : array) {
+      naive += value;
+    }
+
+    double pairwise = DoubleKernels.sum(array, 0, array.length);
+    assertThat(Math.abs(pairwise - exact)).isLessThan(Math.abs(naive - exact) / 100);
+    assertThat(FloatKernels.sum(new float[]{1e8f, 1, 1, 1}, 0, 4)).isEqualTo(1e8 + 3);
+  }
+
+  @Test
+  public void floatingPointSum_independentOfVectorSupport() {
+    // The sum must have the same bits as the pairwise sum based on the scalar kernel, no matter
+    // whether the Vector API is available
+    Random random = new Random(4711);
+    for (int length : new int[]{0, 3, 17, 256, 257, 1000, 4099}) {
+      double[] doubles = random.doubles(length).map(d -> Math.scalb(d - 0.5, random.nextInt(80) - 40)).toArray();
+      float[] floats = new float[length];
+      for (int i = 0; i < length; i++) {
+        floats[i] = (float) doubles[i];
+      }
+
+      assertThat(Double.doubleToRawLongBits(DoubleKernels.sum(doubles, 0, length)))
+          .isEqualTo(Double.doubleToRawLongBits(pairwiseSum(doubles, 0, length)));
+      assertThat(Double.doubleToRawLongBits(FloatKernels.sum(floats, 0, length)))
+          .isEqualTo(Double.doubleToRawLongBits(pairwiseSum(floats, 0, length)));
+    }
+  }
+
+  private static double pairwiseSum(double[] array, int offset, int length) {
+    if (length > DoubleKernels.PAIRWISE_BLOCK) {
+      int half = length >>> 1;
+      return pairwiseSum(array, offset, half) + pairwiseSum(array, offset + half, length - half);
+    }
+    return DoubleKernels.scalarSum(array, offset, length);
+  }
+
+  private static double pairwiseSum(float[] array, int offset, int length) {
+    if (length > FloatKernels.PAIRWISE_BLOCK) {
+      int half = length >>> 1;
+      return pairwiseSum(array, offset, half) + pairwiseSum(array, offset + half, length - half);
+    }
+    return FloatKernels.scalarSum(array, offset, length);
+  }
+}
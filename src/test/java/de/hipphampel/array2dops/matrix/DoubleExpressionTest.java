@@ -0,0 +1,138 @@
+/*
+ * The MIT License
+ * Copyright © 2023 Johannes Hampel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.hipphampel.array2dops.matrix;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import de.hipphampel.array2dops.geom.Transformation;
+import de.hipphampel.array2dops.model.Double2DArray;
+import de.hipphampel.array2dops.model.Int2DArray;
+import de.hipphampel.array2dops.model.ParallelExecution;
+import de.hipphampel.array2dops.model.StorageLayout;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Test;
+
+public class DoubleExpressionTest {
+
+  private final Random random = new Random(4711);
+
+  @Test
+  public void evaluate_matchesMatrixOperations() {
+    Double2DArray a = randomArray(300, 7);
+    Double2DArray b = randomArray(300, 7);
+    Double2DArray c = randomArray(300, 7);
+
+    Double2DArray actual = DoubleExpression.of(a).multiply(2)
+        .add(DoubleExpression.of(b).subtract(c))
+        .evaluate();
+
+    assertThat(actual).isEqualTo(DoubleMatrix.add(DoubleMatrix.scalarMul(2, a), DoubleMatrix.sub(b, c)));
+  }
+
+  @Test
+  public void evaluate_deepExpression() {
+    Double2DArray a = Double2DArray.newInstance(new double[]{1, 2, 3, 4, 5, 6}, 3, 2);
+    Double2DArray b = Double2DArray.newInstance(new double[]{6, 5, 4, 3, 2, 1}, 3, 2);
+
+    // (a - 1) * b + -(a * (b + 2) - 3)
+    Double2DArray actual = DoubleExpression.of(a).subtract(1).multiply(b)
+        .add(DoubleExpression.of(a).multiply(DoubleExpression.of(b).add(2)).subtract(3).negate())
+        .evaluate();
+
+    assertThat(actual.toArray()).containsExactly(-5, -6, -7, -8, -9, -10);
+  }
+
+  @Test
+  public void evaluateInto_viewsAndLayouts() {
+    Double2DArray a = randomArray(40, 30);
+    Double2DArray b = randomArray(30, 40).shallowTransform(Transformation.TRANSPOSE);
+    Double2DArray target = Double2DArray.newInstance(40, 30, StorageLayout.TILED);
+
+    DoubleExpression.of(a).add(b).evaluateInto(target);
+
+    assertThat(target).isEqualTo(DoubleMatrix.add(a, b));
+  }
+
+  @Test
+  public void evaluateInto_operandAsTarget() {
+    Double2DArray a = Double2DArray.newInstance(new double[]{1, 2, 3, 4}, 2, 2);
+
+    DoubleExpression.of(a).multiply(a).add(1).evaluateInto(a);
+
+    assertThat(a.toArray()).containsExactly(2, 5, 10, 17);
+  }
+
+  @Test
+  public void evaluateInto_constantOnly() {
+    Double2DArray target = Double2DArray.newInstance(3, 2);
+
+    DoubleExpression.constant(2).multiply(3).evaluateInto(target);
+
+    assertThat(target.toArray()).containsOnly(6);
+    assertThatThrownBy(() -> DoubleExpression.constant(1).evaluate())
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Expression has no array operand");
+  }
+
+  @Test
+  public void incompatibleSizes() {
+    Double2DArray a = Double2DArray.newInstance(3, 2);
+
+    assertThatThrownBy(() -> DoubleExpression.of(a).add(Double2DArray.newInstance(2, 3)))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Incompatible matrices sizes");
+    assertThatThrownBy(() -> DoubleExpression.of(a).evaluateInto(Double2DArray.newInstance(3, 3)))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Incompatible matrices sizes");
+  }
+
+  @Test
+  public void parallel() {
+    Double2DArray a = randomArray(500, 100);
+    Double2DArray b = randomArray(500, 100);
+    DoubleExpression expression = DoubleExpression.of(a).multiply(b).subtract(a).negate();
+    Double2DArray expected = expression.evaluate();
+
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      ParallelExecution.enable(pool, 0);
+      assertThat(expression.evaluate()).isEqualTo(expected);
+    } finally {
+      ParallelExecution.disable();
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  public void intExpression_wrapsAround() {
+    Int2DArray a = Int2DArray.newInstance(new int[]{Integer.MAX_VALUE, 1}, 2, 1);
+
+    assertThat(IntExpression.of(a).add(1).multiply(2).evaluate().toArray()).containsExactly(0, 4);
+  }
+
+  private Double2DArray randomArray(int width, int height) {
+    return Double2DArray.newInstance(random.doubles((long) width * height).toArray(), width, height);
+  }
+}
@@ -0,0 +1,86 @@
+/*
+ * The MIT License
+ * Copyright © 2023 Johannes Hampel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.hipphampel.array2dops.matrix;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.hipphampel.array2dops.model.Double2DArray;
+import org.junit.jupiter.api.Test;
+
+public class DoubleMatrixTest {
+
+  @Test
+  public void sparse_scalarMul_finite() {
+    Double2DArray arg = DoubleMatrix.newSparseMatrix(3, 2, new int[]{0, 2}, new int[]{0, 1}, new double[]{1, -2});
+
+    Double2DArray result = DoubleMatrix.scalarMul(0.5, arg);
+
+    assertThat(result.isSparse()).isTrue();
+    assertThat(result.getSparseRowPointers()).containsExactly(0, 1, 2);
+    assertThat(result.toArray()).containsExactly(0.5, 0, 0, 0, 0, -1);
+  }
+
+  @Test
+  public void sparse_scalarMul_notFinite() {
+    Double2DArray arg = DoubleMatrix.newSparseMatrix(3, 2, new int[]{0, 2}, new int[]{0, 1}, new double[]{1, -2});
+
+    assertThat(DoubleMatrix.scalarMul(Double.POSITIVE_INFINITY, arg).toArray())
+        .containsExactly(Double.POSITIVE_INFINITY, Double.NaN, Double.NaN, Double.NaN, Double.NaN, Double.NEGATIVE_INFINITY);
+    assertThat(DoubleMatrix.scalarMul(Double.NaN, arg).toArray()).containsOnly(Double.NaN);
+  }
+
+  @Test
+  public void sparse_scalarMul_zeroKeepsNaN() {
+    Double2DArray arg = DoubleMatrix.newSparseMatrix(2, 1, new int[]{0, 1}, new int[]{0, 0}, new double[]{Double.NaN, -1});
+
+    Double2DArray result = DoubleMatrix.scalarMulInplace(0, arg);
+
+    assertThat(result.get(0, 0)).isNaN();
+    assertThat(Double.doubleToRawLongBits(result.get(1, 0))).isEqualTo(Double.doubleToRawLongBits(-0.0));
+  }
+
+  @Test
+  public void mul_zeroTimesInfinity_independentOfSparsity() {
+    Double2DArray left = DoubleMatrix.newMatrix(new double[]{0, 1}, 2, 1);
+    Double2DArray right = DoubleMatrix.newMatrix(new double[]{Double.POSITIVE_INFINITY, 2}, 1, 2);
+    Double2DArray sparseLeft = DoubleMatrix.newSparseMatrix(2, 1, new int[]{1}, new int[]{0}, new double[]{1});
+    Double2DArray sparseRight = DoubleMatrix.newSparseMatrix(1, 2, new int[]{0, 0}, new int[]{0, 1}, new double[]{Double.POSITIVE_INFINITY, 2});
+
+    assertThat(DoubleMatrix.mul(left, right).get(0, 0)).isNaN();
+    assertThat(DoubleMatrix.mul(left, sparseRight).get(0, 0)).isNaN();
+    assertThat(DoubleMatrix.mul(sparseLeft, right).get(0, 0)).isNaN();
+    assertThat(DoubleMatrix.mul(sparseLeft, sparseRight).get(0, 0)).isNaN();
+  }
+
+  @Test
+  public void mul_sparse_matchesDense() {
+    Double2DArray left = DoubleMatrix.newSparseMatrix(3, 2, new int[]{0, 2, 1}, new int[]{0, 0, 1}, new double[]{1.5, -2, 3});
+    Double2DArray right = DoubleMatrix.newMatrix(new double[]{1, 2, 3, 4, 5, 6}, 2, 3);
+    Double2DArray denseLeft = Double2DArray.newInstance(3, 2).fillFrom(0, 0, left);
+
+    Double2DArray expected = DoubleMatrix.mul(denseLeft, right);
+
+    assertThat(DoubleMatrix.mul(left, right).toArray()).containsExactly(expected.toArray());
+    assertThat(DoubleMatrix.mul(right, left).toArray()).containsExactly(DoubleMatrix.mul(right, denseLeft).toArray());
+  }
+}
@@ -282,4 +282,114 @@ public class LongMatrixTest {
     );
   }
 
+
+  @Test
+  public void sparse_add() {
+    Long2DArray left = LongMatrix.newSparseMatrix(3, 2, new int[]{0, 2}, new int[]{0, 1}, new long[]{1, 2});
+    Long2DArray right = LongMatrix.newSparseMatrix(3, 2, new int[]{1, 2}, new int[]{0, 1}, new long[]{3, -2});
+
+    Long2DArray result = LongMatrix.add(left, right);
+
+    assertThat(result.isSparse()).isTrue();
+    assertThat(result.getSparseRowPointers()).containsExactly(0, 2, 2);
+    assertThat(result.printToString()).isEqualTo("""
+        1, 3, 0
+        0, 0, 0"""
+    );
+  }
+
+  @Test
+  public void sparse_addInplace_dense() {
+    Long2DArray left = LongMatrix.newMatrix(new long[]{1, 2, 3, 4, 5, 6}, 3, 2);
+    Long2DArray right = LongMatrix.newSparseMatrix(3, 2, new int[]{1, 2}, new int[]{0, 1}, new long[]{3, -2});
+
+    LongMatrix.addInplace(left, right);
+
+    assertThat(left.printToString()).isEqualTo("""
+        1, 5, 3
+        4, 5, 4"""
+    );
+  }
+
+  @Test
+  public void sparse_addInplace_sparse() {
+    Long2DArray left = LongMatrix.newSparseMatrix(3, 2, new int[]{0, 2}, new int[]{0, 1}, new long[]{1, 2});
+    Long2DArray right = LongMatrix.newSparseMatrix(3, 2, new int[]{1, 2}, new int[]{0, 1}, new long[]{3, -2});
+
+    LongMatrix.addInplace(left, right);
+    LongMatrix.subInplace(left, LongMatrix.newSparseMatrix(3, 2, new int[]{1}, new int[]{1}, new long[]{4}));
+
+    assertThat(left.isSparse()).isTrue();
+    assertThat(left.getSparseRowPointers()).containsExactly(0, 2, 3);
+    assertThat(left.printToString()).isEqualTo("""
+        1, 3, 0
+        0, -4, 0"""
+    );
+  }
+
+  @Test
+  public void sparse_sub() {
+    Long2DArray left = LongMatrix.newSparseMatrix(3, 2, new int[]{0, 2}, new int[]{0, 1}, new long[]{1, 2});
+    Long2DArray right = LongMatrix.newSparseMatrix(3, 2, new int[]{1, 2}, new int[]{0, 1}, new long[]{3, 2});
+
+    Long2DArray result = LongMatrix.sub(left, right);
+
+    assertThat(result.isSparse()).isTrue();
+    assertThat(result.printToString()).isEqualTo("""
+        1, -3, 0
+        0, 0, 0"""
+    );
+    assertThat(LongMatrix.subInplace(LongMatrix.newMatrix(3, 2), right).printToString()).isEqualTo("""
+        0, -3, 0
+        0, 0, -2"""
+    );
+  }
+
+  @Test
+  public void sparse_scalarMulAndNegate() {
+    Long2DArray arg = LongMatrix.newSparseMatrix(3, 2, new int[]{0, 2}, new int[]{0, 1}, new long[]{1, 2});
+
+    Long2DArray result = LongMatrix.negate(LongMatrix.scalarMul(3, arg));
+
+    assertThat(result.isSparse()).isTrue();
+    assertThat(result.printToString()).isEqualTo("""
+        -3, 0, 0
+        0, 0, -6"""
+    );
+    assertThat(LongMatrix.scalarMulInplace(0, arg)).isEqualTo(LongMatrix.newMatrix(3, 2));
+  }
+
+  @Test
+  public void sparse_mul() {
+    Long2DArray denseLeft = LongMatrix.newMatrix(new long[]{1, 0, 3, 0, 5, 0}, 3, 2);
+    Long2DArray denseRight = LongMatrix.newMatrix(new long[]{0, 5, 4, 0, 2, 0}, 2, 3);
+    Long2DArray sparseLeft = LongMatrix.addInplace(LongMatrix.newSparseMatrix(3, 2), denseLeft);
+    Long2DArray sparseRight = LongMatrix.addInplace(LongMatrix.newSparseMatrix(2, 3), denseRight);
+    Long2DArray expected = LongMatrix.mul(denseLeft, denseRight);
+
+    Long2DArray sparseSparse = LongMatrix.mul(sparseLeft, sparseRight);
+
+    assertThat(sparseSparse.isSparse()).isTrue();
+    assertThat(sparseSparse).isEqualTo(expected);
+    assertThat(LongMatrix.mul(sparseLeft, denseRight)).isEqualTo(expected);
+    assertThat(LongMatrix.mul(denseLeft, sparseRight)).isEqualTo(expected);
+    assertThat(expected.printToString()).isEqualTo("""
+        6, 5
+        20, 0"""
+    );
+  }
+
+  @Test
+  public void sparse_transpose() {
+    Long2DArray arg = LongMatrix.newSparseMatrix(3, 2, new int[]{0, 2}, new int[]{0, 1}, new long[]{1, 2});
+
+    Long2DArray result = LongMatrix.transpose(arg);
+
+    assertThat(result.isSparse()).isTrue();
+    assertThat(result.printToString()).isEqualTo("""
+        1, 0
+        0, 0
+        0, 2"""
+    );
+  }
 }
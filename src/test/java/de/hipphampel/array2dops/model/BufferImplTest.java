@@ -0,0 +1,255 @@
+/*
+ * The MIT License
+ * Copyright © 2023 Johannes Hampel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.hipphampel.array2dops.model;
+
+import static de.hipphampel.array2dops.model.TestUtils.serializeAndDeserialize;
+import static de.hipphampel.array2dops.model.TestUtils.toChar2DArray;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.CharBuffer;
+import java.nio.IntBuffer;
+import java.nio.ReadOnlyBufferException;
+import org.junit.jupiter.api.Test;
+
+public class BufferImplTest {
+
+  private Char2DArray newDirect(String spec) {
+    Char2DArray source = toChar2DArray(spec);
+    return Char2DArray.newDirectInstance(source.getWidth(), source.getHeight()).fillFrom(0, 0, source);
+  }
+
+  @Test
+  public void newDirectInstance() {
+    Int2DArray array = Int2DArray.newDirectInstance(17, 19);
+
+    assertThat(array).isInstanceOf(BufferInt2DArrayImpl.class);
+    assertThat(array.getWidth()).isEqualTo(17);
+    assertThat(array.getHeight()).isEqualTo(19);
+    assertThat(array.isArrayOwner()).isFalse();
+    assertThat(array.toIntBuffer(false).isDirect()).isTrue();
+    assertThat(array.toArray()).isEqualTo(new int[17 * 19]);
+  }
+
+  @Test
+  public void newInstance_buffer() {
+    IntBuffer buffer = IntBuffer.wrap(new int[]{0, 1, 2, 3, 4, 5, 6, 7});
+    buffer.position(2);
+
+    Int2DArray array = Int2DArray.newInstance(buffer, 3, 2);
+    assertThat(array.printToString("", ":")).isEqualTo("234:567");
+
+    array.set(0, 0, 42);
+    assertThat(buffer.get(2)).isEqualTo(42);
+  }
+
+  @Test
+  public void newInstance_buffer_sizeMismatch() {
+    assertThatThrownBy(() -> Int2DArray.newInstance(IntBuffer.allocate(7), 3, 2))
+        .isInstanceOf(ArrayIndexOutOfBoundsException.class)
+        .hasMessage("buffer size = 7 differs from logical size 3x2");
+  }
+
+  @Test
+  public void newInstance_readOnlyBuffer() {
+    Int2DArray array = Int2DArray.newInstance(IntBuffer.allocate(6).asReadOnlyBuffer(), 3, 2);
+
+    assertThat(array.isReadOnly()).isTrue();
+    assertThatThrownBy(() -> array.set(0, 0, 1)).isInstanceOf(ReadOnlyBufferException.class);
+  }
+
+  @Test
+  public void toBuffer_noCopy() {
+    Char2DArray array = newDirect("""
+        abc
+        def
+        """);
+
+    CharBuffer buffer = array.toCharBuffer(false);
+    buffer.put(1, 'x');
+
+    assertThat(array.printToString("", ":")).isEqualTo("axc:def");
+  }
+
+  @Test
+  public void toBuffer_copy() {
+    Char2DArray array = newDirect("""
+        abc
+        def
+        """);
+
+    CharBuffer buffer = array.toCharBuffer(true);
+    buffer.put(1, 'x');
+
+    assertThat(array.printToString("", ":")).isEqualTo("abc:def");
+  }
+
+  @Test
+  public void toArray() {
+    Char2DArray array = newDirect("""
+        abc
+        def
+        """);
+
+    assertThat(array.toArray()).isEqualTo(new char[]{'a', 'b', 'c', 'd', 'e', 'f'});
+  }
+
+  @Test
+  public void copy() {
+    Char2DArray array = newDirect("""
+        abc
+        def
+        """);
+
+    Char2DArray copy = array.copy();
+    copy.set(0, 0, 'x');
+
+    assertThat(copy).isInstanceOf(BufferChar2DArrayImpl.class);
+    assertThat(copy.printToString("", ":")).isEqualTo("xbc:def");
+    assertThat(array.printToString("", ":")).isEqualTo("abc:def");
+  }
+
+  @Test
+  public void copyRegion() {
+    Char2DArray array = newDirect("""
+        .........
+        ..abc....
+        ..def....
+        .........
+        """);
+
+    Char2DArray region = array.copyRegion(2, 1, 3, 2);
+
+    assertThat(region).isInstanceOf(BufferChar2DArrayImpl.class);
+    assertThat(region.printToString("", ":")).isEqualTo("abc:def");
+  }
+
+  @Test
+  public void fill() {
+    Int2DArray array = Int2DArray.newDirectInstance(100, 50);
+
+    array.fill(7);
+
+    assertThat(array.toArray()).containsOnly(7);
+  }
+
+  @Test
+  public void fillRegion() {
+    Char2DArray array = Char2DArray.newDirectInstance(10, 6).fill('.');
+
+    array.fillRegion(1, 2, 3, 4, 'A');
+
+    assertThat(array.printToString("", "\n")).isEqualTo("""
+        ..........
+        ..........
+        .AAA......
+        .AAA......
+        .AAA......
+        .AAA......""");
+  }
+
+  @Test
+  public void fillFrom() {
+    Char2DArray array = Char2DArray.newDirectInstance(6, 4).fill('.');
+
+    array.fillFrom(1, 1, toChar2DArray("""
+        abc
+        def""").toReadOnly());
+
+    assertThat(array.printToString("", "\n")).isEqualTo("""
+        ......
+        .abc..
+        .def..
+        ......""");
+  }
+
+  @Test
+  public void fillFrom_intoHeapArray() {
+    Char2DArray array = Char2DArray.newInstance(6, 4).fill('.');
+
+    array.fillFrom(1, 1, newDirect("""
+        abc
+        def"""));
+
+    assertThat(array.printToString("", "\n")).isEqualTo("""
+        ......
+        .abc..
+        .def..
+        ......""");
+  }
+
+  @Test
+  public void shallowRegion_toArray() {
+    Char2DArray array = newDirect("""
+        .........
+        ..abc....
+        ..def....
+        .........
+        """);
+
+    assertThat(array.shallowRegion(2, 1, 3, 2).toArray())
+        .isEqualTo(new char[]{'a', 'b', 'c', 'd', 'e', 'f'});
+  }
+
+  @Test
+  public void equals() {
+    Char2DArray array = newDirect("""
+        abc
+        def
+        """);
+
+    assertThat(array).isEqualTo(toChar2DArray("""
+        abc
+        def
+        """));
+    assertThat(array.hashCode()).isEqualTo(toChar2DArray("""
+        abc
+        def
+        """).hashCode());
+  }
+
+  @Test
+  public void serialize() throws IOException, ClassNotFoundException {
+    Char2DArray array = newDirect("""
+        abc
+        def
+        """);
+
+    Char2DArray copy = serializeAndDeserialize(array);
+
+    assertThat(copy).isInstanceOf(Char2DArrayImpl.class);
+    assertThat(copy).isEqualTo(array);
+    assertThat(copy.isReadOnly()).isFalse();
+  }
+
+  @Test
+  public void serialize_readOnlyBuffer() throws IOException, ClassNotFoundException {
+    Int2DArray array = Int2DArray.newInstance(IntBuffer.wrap(new int[]{1, 2, 3, 4, 5, 6}).asReadOnlyBuffer(), 3, 2);
+
+    Int2DArray copy = serializeAndDeserialize(array);
+
+    assertThat(copy).isEqualTo(array);
+    assertThat(copy.isReadOnly()).isTrue();
+  }
+}
@@ -0,0 +1,140 @@
+/*
+ * The MIT License
+ * Copyright © 2023 Johannes Hampel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.hipphampel.array2dops.model;
+
+import static de.hipphampel.array2dops.model.TestUtils.toChar2DArray;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class ChunkedImplTest {
+
+  private Char2DArray source;
+  private ChunkedChar2DArrayImpl array;
+
+  @BeforeEach
+  public void beforeEach() {
+    source = toChar2DArray("""
+        abcde
+        fghij
+        klmno
+        pqrst
+        uvwxy
+        """);
+    // Two rows per chunk
+    array = new ChunkedChar2DArrayImpl(5, 5, 12);
+    array.fillFrom(0, 0, source);
+  }
+
+  @Test
+  public void constructor_distributesRowsOverChunks() {
+    assertThat(array.chunks.length).isEqualTo(3);
+    assertThat(array.chunks[0]).hasSize(10);
+    assertThat(array.chunks[2]).hasSize(5);
+  }
+
+  @Test
+  public void newInstance_tooLargeForSingleArray() {
+    assertThatThrownBy(() -> Byte2DArray.newInstance(new byte[0], 65536, 65536))
+        .isInstanceOf(ArrayIndexOutOfBoundsException.class);
+  }
+
+  @Test
+  public void getUnsafe_setUnsafe() {
+    assertThat(array.getUnsafe(3, 2)).isEqualTo('n');
+    assertThat(array.getUnsafe(4, 4)).isEqualTo('y');
+
+    array.setUnsafe(1, 3, 'X');
+    assertThat(array.chunks[1][6]).isEqualTo('X');
+  }
+
+  @Test
+  public void toArray() {
+    assertThat(array.toArray()).isEqualTo(source.getData());
+  }
+
+  @Test
+  public void copy() {
+    Char2DArray copy = array.copy();
+    copy.set(0, 0, 'X');
+
+    assertThat(copy).isInstanceOf(ChunkedChar2DArrayImpl.class);
+    assertThat(copy.get(0, 0)).isEqualTo('X');
+    assertThat(array.get(0, 0)).isEqualTo('a');
+    assertThat(array).isEqualTo(source);
+  }
+
+  @Test
+  public void copyRegion() {
+    Char2DArray region = array.copyRegion(1, 1, 3, 3);
+
+    assertThat(region.printToString("", ":")).isEqualTo("ghi:lmn:qrs");
+  }
+
+  @Test
+  public void shallowRegion_toArray() {
+    Char2DArray region = array.shallowRegion(1, 1, 3, 3);
+
+    assertThat(region.toArray()).isEqualTo("ghilmnqrs".toCharArray());
+  }
+
+  @Test
+  public void fill() {
+    array.fill('.');
+
+    assertThat(array.printToString("", ":")).isEqualTo(".....:.....:.....:.....:.....");
+  }
+
+  @Test
+  public void fillRegion() {
+    array.fillRegion(1, 1, 2, 3, '.');
+
+    assertThat(array.printToString("", ":")).isEqualTo("abcde:f..ij:k..no:p..st:uvwxy");
+  }
+
+  @Test
+  public void fillFrom_heapArray() {
+    array.fillFrom(2, 1, toChar2DArray("""
+        XY
+        ZW
+        """));
+
+    assertThat(array.printToString("", ":")).isEqualTo("abcde:fgXYj:klZWo:pqrst:uvwxy");
+  }
+
+  @Test
+  public void fillFrom_chunkedArray() {
+    ChunkedChar2DArrayImpl other = new ChunkedChar2DArrayImpl(2, 3, 2);
+    other.fillFrom(0, 0, toChar2DArray("""
+        12
+        34
+        56
+        """));
+
+    array.fillFrom(3, 1, other);
+
+    assertThat(array.printToString("", ":")).isEqualTo("abcde:fgh12:klm34:pqr56:uvwxy");
+  }
+}
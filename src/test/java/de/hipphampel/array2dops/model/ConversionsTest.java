@@ -0,0 +1,92 @@
+/*
+ * The MIT License
+ * Copyright © 2023 Johannes Hampel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.hipphampel.array2dops.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import de.hipphampel.array2dops.geom.Transformation;
+import org.junit.jupiter.api.Test;
+
+public class ConversionsTest {
+
+  @Test
+  public void widening() {
+    Byte2DArray bytes = Byte2DArray.newInstance(new byte[]{-128, -1, 0, 127}, 2, 2);
+
+    assertThat(bytes.toInt2DArray().toArray()).containsExactly(-128, -1, 0, 127);
+    assertThat(bytes.toDouble2DArray().toArray()).containsExactly(-128, -1, 0, 127);
+    assertThat(bytes.toLong2DArray().toArray()).containsExactly(-128, -1, 0, 127);
+  }
+
+  @Test
+  public void narrowing_saturates() {
+    Int2DArray ints = Int2DArray.newInstance(new int[]{-100000, -200, 200, 100000}, 2, 2);
+
+    assertThat(ints.toByte2DArray().toArray()).containsExactly(-128, -128, 127, 127);
+    assertThat(ints.toShort2DArray().toArray()).containsExactly(Short.MIN_VALUE, -200, 200, Short.MAX_VALUE);
+    assertThat(ints.toChar2DArray().toArray()).containsExactly((char) 0, (char) 0, (char) 200, Character.MAX_VALUE);
+  }
+
+  @Test
+  public void floatingPointToIntegral_roundsAndSaturates() {
+    Double2DArray doubles = Double2DArray.newInstance(new double[]{1.4, 1.6, -2.5, Double.NaN, 1e20, -1e20}, 3, 2);
+
+    assertThat(doubles.toInt2DArray().toArray()).containsExactly(1, 2, -2, 0, Integer.MAX_VALUE, Integer.MIN_VALUE);
+    assertThat(doubles.toLong2DArray().toArray()).containsExactly(1, 2, -2, 0, Long.MAX_VALUE, Long.MIN_VALUE);
+    assertThat(doubles.toByte2DArray().toArray()).containsExactly(1, 2, -2, 0, 127, -128);
+    assertThat(doubles.toFloat2DArray().toArray()).containsExactly(1.4f, 1.6f, -2.5f, Float.NaN, 1e20f, -1e20f);
+  }
+
+  @Test
+  public void scaleAndOffset() {
+    Float2DArray floats = Float2DArray.newInstance(new float[]{0, 0.5f, 1, 2}, 2, 2);
+    Byte2DArray bytes = Byte2DArray.newInstance(2, 2);
+
+    assertThat(floats.toByte2DArray(bytes, 255, -128)).isSameAs(bytes);
+
+    assertThat(bytes.toArray()).containsExactly(-128, 0, 127, 127);
+    assertThat(bytes.toFloat2DArray(Float2DArray.newInstance(2, 2), 1 / 255.0, 128 / 255.0).toArray())
+        .containsExactly(0, 128 / 255f, 1, 1);
+  }
+
+  @Test
+  public void viewsAndLayouts() {
+    Short2DArray shorts = Short2DArray.newInstance(new short[]{1, 2, 3, 4, 5, 6}, 3, 2)
+        .shallowTransform(Transformation.TRANSPOSE);
+    Int2DArray target = Int2DArray.newInstance(2, 3, StorageLayout.TILED);
+
+    shorts.toInt2DArray(target);
+
+    assertThat(target.toArray()).containsExactly(1, 4, 2, 5, 3, 6);
+  }
+
+  @Test
+  public void incompatibleSizes() {
+    Long2DArray longs = Long2DArray.newInstance(3, 2);
+
+    assertThatThrownBy(() -> longs.toInt2DArray(Int2DArray.newInstance(2, 3)))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Incompatible array sizes");
+  }
+}
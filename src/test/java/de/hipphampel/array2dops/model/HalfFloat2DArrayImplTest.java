@@ -0,0 +1,133 @@
+/*
+ * The MIT License
+ * Copyright © 2023 Johannes Hampel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.hipphampel.array2dops.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+public class HalfFloat2DArrayImplTest {
+
+  // The values are exactly representable in both formats
+  private static Float2DArray reference() {
+    Float2DArray reference = Float2DArray.newInstance(37, 5);
+    for (int y = 0; y < 5; y++) {
+      for (int x = 0; x < 37; x++) {
+        reference.setUnsafe(x, y, (x - 3 * y) * 0.25f);
+      }
+    }
+    return reference;
+  }
+
+  @ParameterizedTest
+  @EnumSource(HalfPrecision.class)
+  public void newHalfPrecisionInstance(HalfPrecision format) {
+    Float2DArray array = Float2DArray.newHalfPrecisionInstance(37, 5, format);
+
+    assertThat(array).isInstanceOf(HalfFloat2DArrayImpl.class);
+    assertThat(((HalfFloat2DArrayImpl) array).data).hasSize(37 * 5);
+    assertThat(array.toArray()).containsOnly(0f);
+  }
+
+  @ParameterizedTest
+  @EnumSource(HalfPrecision.class)
+  public void getUnsafe_setUnsafe_roundsValue(HalfPrecision format) {
+    Float2DArray array = Float2DArray.newHalfPrecisionInstance(3, 2, format);
+
+    array.setUnsafe(1, 1, 1.5f);
+    array.setUnsafe(2, 1, 1.001f);
+    array.setUnsafe(0, 1, Float.NaN);
+
+    assertThat(array.getUnsafe(1, 1)).isEqualTo(1.5f);
+    assertThat(array.getUnsafe(2, 1)).isEqualTo(format == HalfPrecision.FP16 ? 1.0009766f : 1.0f);
+    assertThat(array.getUnsafe(0, 1)).isNaN();
+  }
+
+  @ParameterizedTest
+  @EnumSource(HalfPrecision.class)
+  public void range(HalfPrecision format) {
+    Float2DArray array = Float2DArray.newHalfPrecisionInstance(2, 1, format);
+
+    array.set(0, 0, 1e6f).set(1, 0, -1e-10f);
+
+    assertThat(array.get(0, 0)).isEqualTo(format == HalfPrecision.FP16 ? Float.POSITIVE_INFINITY : 999424f);
+    assertThat(array.get(1, 0)).isEqualTo(format == HalfPrecision.FP16 ? -0f : -1.0004442e-10f);
+  }
+
+  @ParameterizedTest
+  @EnumSource(HalfPrecision.class)
+  public void fillFrom_toArray(HalfPrecision format) {
+    Float2DArray reference = reference();
+
+    Float2DArray array = Float2DArray.newHalfPrecisionInstance(37, 5, format).fillFrom(0, 0, reference);
+
+    assertThat(array.toArray()).isEqualTo(reference.toArray());
+    assertThat(array).isEqualTo(reference);
+    assertThat(array.hashCode()).isEqualTo(reference.hashCode());
+    assertThat(Float2DArray.newHalfPrecisionInstance(37, 5, format).fillFrom(0, 0, array)).isEqualTo(reference);
+    assertThat(Float2DArray.newInstance(37, 5).fillFrom(0, 0, array)).isEqualTo(reference);
+  }
+
+  @ParameterizedTest
+  @EnumSource(HalfPrecision.class)
+  public void getRow_setRow(HalfPrecision format) {
+    Float2DArray array = Float2DArray.newHalfPrecisionInstance(37, 5, format).fillFrom(0, 0, reference());
+
+    float[] row = array.getRow(1, 2, 35, new float[36], 1, 1);
+    array.setRow(0, 4, 35, row, 1, 1);
+
+    assertThat(row[0]).isZero();
+    assertThat(row[1]).isEqualTo(array.get(1, 2));
+    assertThat(array.getRow(0, 4, 35, new float[35], 0, 1)).containsExactly(array.getRow(1, 2, 35, new float[35], 0, 1));
+    assertThat(array.getRow(1, 4, 3, new float[6], 0, 2)).containsExactly(array.get(2, 2), 0f, array.get(3, 2), 0f, array.get(4, 2), 0f);
+    assertThatThrownBy(() -> array.getRow(3, 4, 35, new float[35], 0, 1))
+        .isInstanceOf(ArrayIndexOutOfBoundsException.class);
+  }
+
+  @ParameterizedTest
+  @EnumSource(HalfPrecision.class)
+  public void updateRowSpans(HalfPrecision format) {
+    Float2DArray reference = reference();
+    Float2DArray array = Float2DArray.newHalfPrecisionInstance(37, 5, format).fillFrom(0, 0, reference);
+
+    array.mapInPlace(v -> v * 2);
+    reference.mapInPlace(v -> v * 2);
+
+    assertThat(array).isEqualTo(reference);
+  }
+
+  @ParameterizedTest
+  @EnumSource(HalfPrecision.class)
+  public void copyRegion_fillRegion(HalfPrecision format) {
+    Float2DArray reference = reference();
+    Float2DArray array = Float2DArray.newHalfPrecisionInstance(37, 5, format).fillFrom(0, 0, reference);
+
+    array.fillRegion(2, 1, 3, 2, 7f);
+    reference.fillRegion(2, 1, 3, 2, 7f);
+
+    assertThat(array.copyRegion(1, 1, 10, 3)).isInstanceOf(HalfFloat2DArrayImpl.class).isEqualTo(reference.copyRegion(1, 1, 10, 3));
+    assertThat(array.copy()).isEqualTo(reference);
+  }
+}
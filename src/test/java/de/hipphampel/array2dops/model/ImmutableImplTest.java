@@ -0,0 +1,91 @@
+/*
+ * The MIT License
+ * Copyright © 2023 Johannes Hampel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.hipphampel.array2dops.model;
+
+import static de.hipphampel.array2dops.model.TestUtils.toChar2DArray;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+public class ImmutableImplTest {
+
+  private static final String CONTENT = """
+      abcd
+      efgh
+      ijkl
+      """;
+
+  @Test
+  public void toImmutable_doesNotReflectChanges() {
+    Char2DArray array = toChar2DArray(CONTENT);
+
+    Char2DArray immutable = array.toImmutable();
+    array.set(0, 0, 'x');
+
+    assertThat(immutable).isInstanceOf(ImmutableChar2DArrayImpl.class);
+    assertThat(immutable.isReadOnly()).isTrue();
+    assertThat(immutable.printToString("", ":")).isEqualTo("abcd:efgh:ijkl");
+    assertThat(immutable.toImmutable()).isSameAs(immutable);
+    assertThat(immutable.snapshot()).isSameAs(immutable);
+    assertThat(immutable.toReadOnly()).isSameAs(immutable);
+    assertThatThrownBy(() -> immutable.set(0, 0, 'y')).isInstanceOf(UnsupportedOperationException.class);
+  }
+
+  @Test
+  public void toImmutable_fromReadOnlyAndTiled() {
+    Char2DArray array = Char2DArray.newInstance(4, 3, StorageLayout.TILED).fillFrom(0, 0, toChar2DArray(CONTENT));
+
+    Char2DArray fromTiled = array.toImmutable();
+    Char2DArray fromReadOnly = array.toReadOnly().toImmutable();
+    array.fill('.');
+
+    assertThat(fromTiled.printToString("", ":")).isEqualTo("abcd:efgh:ijkl");
+    assertThat(fromReadOnly.printToString("", ":")).isEqualTo("abcd:efgh:ijkl");
+  }
+
+  @Test
+  public void equalsAndHashCode() {
+    Char2DArray array = toChar2DArray(CONTENT);
+    Char2DArray immutable = array.toImmutable();
+    Map<Char2DArray, String> map = new HashMap<>();
+    map.put(immutable, "value");
+
+    assertThat(immutable.hashCode()).isEqualTo(array.hashCode()).isEqualTo(immutable.hashCode());
+    assertThat(immutable).isEqualTo(array).isEqualTo(array.toImmutable());
+    assertThat(immutable).isNotEqualTo(array.copy().set(3, 2, 'x').toImmutable());
+    assertThat(map.get(toChar2DArray(CONTENT).toImmutable())).isEqualTo("value");
+  }
+
+  @Test
+  public void equals_floatingPointSemantics() {
+    Double2DArray positiveZero = Double2DArray.newInstance(new double[]{0.0, 1.0}, 2, 1);
+    Double2DArray negativeZero = Double2DArray.newInstance(new double[]{-0.0, 1.0}, 2, 1);
+    Double2DArray nan = Double2DArray.newInstance(new double[]{Double.NaN, 1.0}, 2, 1);
+
+    assertThat(positiveZero).isEqualTo(negativeZero);
+    assertThat(nan).isNotEqualTo(nan.copy());
+  }
+}
@@ -56,6 +56,7 @@ import de.hipphampel.array2dops.geom.Transformation;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.EnumSource;
 
 public class ImplTest {
 
@@ -256,6 +257,20 @@ public class ImplTest {
     assertThat(array.toReadOnly()).isInstanceOf(ReadOnlyChar2DArrayImpl.class);
   }
 
+  @Test
+  public void snapshot() {
+    Char2DArray array = toChar2DArray("""
+        abc
+        def
+        """);
+
+    Char2DArray snapshot = array.snapshot();
+    array.set(0, 0, 'x');
+
+    assertThat(snapshot).isInstanceOf(Char2DArrayImpl.class);
+    assertThat(snapshot.printToString("", ":")).isEqualTo("abc:def");
+  }
+
   @Test
   public void copy() {
     Char2DArray array = toChar2DArray("""
@@ -297,7 +312,7 @@ public class ImplTest {
         """);
 
     Char2DArray region = array.shallowRegion(2, 1, 3, 2);
-    assertThat(region).isInstanceOf(SubChar2DArrayImpl.class);
+    assertThat(region).isInstanceOf(StridedChar2DArrayImpl.class);
     assertThat(region.printToString("", ":")).isEqualTo("abc:def");
 
     region.set(0, 0, 'x');
@@ -373,7 +388,7 @@ public class ImplTest {
         """);
 
     Char2DArray transformed = array.shallowTransform(Transformation.FLIP_Y);
-    assertThat(transformed).isInstanceOf(TransformChar2DArrayImpl.class);
+    assertThat(transformed).isInstanceOf(StridedChar2DArrayImpl.class);
     assertThat(transformed.printToString("", ":")).isEqualTo("def:abc");
 
     transformed.set(0, 0, 'x');
@@ -470,4 +485,38 @@ public class ImplTest {
         .isInstanceOf(ArrayIndexOutOfBoundsException.class);
   }
 
+  @ParameterizedTest
+  @EnumSource(Transformation.class)
+  public void transformInPlace(Transformation transformation) {
+    int[][] sizes = {{3, 2}, {5, 5}, {4, 4}, {1, 7}, {6, 1}, {7, 4}, {0, 3}};
+    for (int[] size : sizes) {
+      Char2DArray array = Char2DArray.newInstance(size[0], size[1]);
+      for (int x = 0; x < size[0]; x++) {
+        for (int y = 0; y < size[1]; y++) {
+          array.setUnsafe(x, y, (char) ('a' + x + y * size[0]));
+        }
+      }
+      Char2DArray expected = array.copyTransform(transformation);
+      char[] data = array.getData();
+
+      assertThat(array.transformInPlace(transformation)).isSameAs(array);
+      assertThat(array).isEqualTo(expected);
+      assertThat(array.getData()).isSameAs(data);
+    }
+  }
+
+  @Test
+  public void transformInPlace_notOwner() {
+    Char2DArray square = Char2DArray.newInstance(3, 3, StorageLayout.TILED).fillFrom(0, 0, toChar2DArray("""
+        abc
+        def
+        ghi
+        """));
+    Char2DArray rectangle = Char2DArray.newInstance(3, 2, StorageLayout.TILED);
+
+    assertThat(square.transformInPlace(Transformation.ROTATE_CLOCKWISE_90).printToString("", ":")).isEqualTo("gda:heb:ifc");
+    assertThat(rectangle.transformInPlace(Transformation.FLIP_X)).isSameAs(rectangle);
+    assertThatThrownBy(() -> rectangle.transformInPlace(Transformation.TRANSPOSE))
+        .isInstanceOf(UnsupportedOperationException.class);
+  }
 }
@@ -0,0 +1,145 @@
+/*
+ * The MIT License
+ * Copyright © 2023 Johannes Hampel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.hipphampel.array2dops.model;
+
+import static de.hipphampel.array2dops.model.TestUtils.toChar2DArray;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import de.hipphampel.array2dops.geom.Transformation;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+public class MapOperationsTest {
+
+  private static final String CONTENT = """
+      abcde
+      fghij
+      klmno
+      """;
+
+  public static Stream<Function<Char2DArray, Char2DArray>> variants() {
+    return Stream.of(
+        array -> array,
+        array -> Char2DArray.newInstance(array.getWidth(), array.getHeight(), StorageLayout.TILED).fillFrom(0, 0, array),
+        array -> Char2DArray.newInstance(array.getWidth(), array.getHeight(), StorageLayout.QUADTREE).fillFrom(0, 0, array),
+        array -> Char2DArray.newDirectInstance(array.getWidth(), array.getHeight()).fillFrom(0, 0, array),
+        array -> Char2DArray.newInstance(array.getWidth() + 2, array.getHeight() + 1).fill('?')
+            .fillFrom(1, 1, array).shallowRegion(1, 1, array.getWidth(), array.getHeight()),
+        array -> new TransformChar2DArrayImpl(array.copyTransform(Transformation.TRANSPOSE), Transformation.TRANSPOSE));
+  }
+
+  @ParameterizedTest
+  @MethodSource("variants")
+  public void mapInPlace(Function<Char2DArray, Char2DArray> variant) {
+    Char2DArray array = variant.apply(toChar2DArray(CONTENT));
+
+    assertThat(array.mapInPlace(Character::toUpperCase)).isSameAs(array);
+
+    assertThat(array).isEqualTo(toChar2DArray(CONTENT.toUpperCase()));
+  }
+
+  @ParameterizedTest
+  @MethodSource("variants")
+  public void map(Function<Char2DArray, Char2DArray> variant) {
+    Char2DArray array = variant.apply(toChar2DArray(CONTENT));
+    Char2DArray target = Char2DArray.newInstance(5, 3, StorageLayout.ROWS);
+
+    assertThat(array.map(target, c -> c < 'h' ? '0' : '1')).isSameAs(target);
+
+    assertThat(target).isEqualTo(toChar2DArray("""
+        00000
+        00111
+        11111
+        """));
+    assertThat(array).isEqualTo(toChar2DArray(CONTENT));
+  }
+
+  @ParameterizedTest
+  @MethodSource("variants")
+  public void zipWith(Function<Char2DArray, Char2DArray> variant) {
+    Char2DArray array = variant.apply(toChar2DArray(CONTENT));
+    Char2DArray other = toChar2DArray(CONTENT).copyTransform(Transformation.FLIP_X);
+
+    assertThat(array.zipWith(other, (l, r) -> (char) Math.max(l, r))).isSameAs(array);
+
+    assertThat(array).isEqualTo(toChar2DArray("""
+        edcde
+        jihij
+        onmno
+        """));
+  }
+
+  @ParameterizedTest
+  @MethodSource("variants")
+  public void replaceAll(Function<Char2DArray, Char2DArray> variant) {
+    Char2DArray array = variant.apply(toChar2DArray(CONTENT)).fillRegion(1, 1, 2, 2, 'x');
+
+    assertThat(array.replaceAll('x', '.')).isSameAs(array);
+
+    assertThat(array).isEqualTo(toChar2DArray("""
+        abcde
+        f..ij
+        k..no
+        """));
+  }
+
+  @Test
+  public void primitiveTypes() {
+    Int2DArray ints = Int2DArray.newInstance(new int[]{1, 2, 3, 4}, 2, 2);
+    Double2DArray doubles = Double2DArray.newInstance(new double[]{1, 2, 3, 4}, 2, 2);
+    Byte2DArray bytes = Byte2DArray.newInstance(new byte[]{1, 2, 3, 4}, 2, 2);
+    Boolean2DArray booleans = Boolean2DArray.newInstance(2, 2).set(1, 1, true);
+    Object2DArray<String> strings = Object2DArray.newInstance(new String[]{"a", null, "c", "a"}, 2, 2);
+
+    assertThat(ints.mapInPlace(v -> v * v).toArray()).containsExactly(1, 4, 9, 16);
+    assertThat(ints.zipWith(ints.copy(), Integer::sum).toArray()).containsExactly(2, 8, 18, 32);
+    assertThat(doubles.map(Double2DArray.newInstance(2, 2), Math::sqrt).toArray()).containsExactly(1, Math.sqrt(2), Math.sqrt(3), 2);
+    assertThat(bytes.mapInPlace(v -> (byte) (v << 6)).toArray()).containsExactly(64, -128, -64, 0);
+    assertThat(booleans.mapInPlace(v -> !v).cardinality()).isEqualTo(3);
+    assertThat(strings.replaceAll("a", "b").mapInPlace(s -> s == null ? "-" : s).stream()).containsExactly("b", "-", "c", "b");
+  }
+
+  @Test
+  public void incompatibleSizes() {
+    Char2DArray array = toChar2DArray(CONTENT);
+
+    assertThatThrownBy(() -> array.map(Char2DArray.newInstance(5, 2), c -> c))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Incompatible array sizes");
+    assertThatThrownBy(() -> array.zipWith(Char2DArray.newInstance(4, 3), (l, r) -> l))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Incompatible array sizes");
+  }
+
+  @Test
+  public void readOnly() {
+    Char2DArray array = toChar2DArray(CONTENT).toReadOnly();
+
+    assertThatThrownBy(() -> array.mapInPlace(c -> c))
+        .isInstanceOf(UnsupportedOperationException.class);
+  }
+}
@@ -0,0 +1,163 @@
+/*
+ * The MIT License
+ * Copyright © 2023 Johannes Hampel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.hipphampel.array2dops.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.ReadOnlyBufferException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class MappedImplTest {
+
+  @Test
+  public void newMappedInstance_writesHeaderAndData(@TempDir Path tempDir) throws IOException {
+    Path file = tempDir.resolve("array.bin");
+
+    Int2DArray array = Int2DArray.newMappedInstance(file, 3, 2);
+    array.set(2, 1, 42);
+
+    assertThat(array.getWidth()).isEqualTo(3);
+    assertThat(array.getHeight()).isEqualTo(2);
+    ByteBuffer content = ByteBuffer.wrap(Files.readAllBytes(file)).order(ByteOrder.nativeOrder());
+    assertThat(content.capacity()).isEqualTo(MappedFiles.HEADER_SIZE + 6 * Integer.BYTES);
+    assertThat(content.getInt(0)).isEqualTo(MappedFiles.MAGIC);
+    assertThat(content.getInt(8)).isEqualTo(3);
+    assertThat(content.getInt(12)).isEqualTo(2);
+    assertThat(content.getInt(MappedFiles.HEADER_SIZE + 5 * Integer.BYTES)).isEqualTo(42);
+  }
+
+  @Test
+  public void openMappedInstance_readWrite(@TempDir Path tempDir) throws IOException {
+    Path file = tempDir.resolve("array.bin");
+    Int2DArray.newMappedInstance(file, 3, 2).fill(1).set(1, 1, 7);
+
+    Int2DArray array = Int2DArray.openMappedInstance(file, false);
+    assertThat(array.isReadOnly()).isFalse();
+    assertThat(array.printToString("", ":")).isEqualTo("111:171");
+    assertThat(array.shallowRegion(1, 1, 2, 1).toArray()).isEqualTo(new int[]{7, 1});
+
+    array.set(0, 0, 5);
+    assertThat(Int2DArray.openMappedInstance(file, true).get(0, 0)).isEqualTo(5);
+  }
+
+  @Test
+  public void openMappedInstance_readOnly(@TempDir Path tempDir) throws IOException {
+    Path file = tempDir.resolve("array.bin");
+    Double2DArray.newMappedInstance(file, 2, 2).fill(0.5);
+
+    Double2DArray array = Double2DArray.openMappedInstance(file, true);
+    assertThat(array.isReadOnly()).isTrue();
+    assertThat(array.toArray()).containsOnly(0.5);
+    assertThatThrownBy(() -> array.set(0, 0, 1.0)).isInstanceOf(ReadOnlyBufferException.class);
+  }
+
+  @Test
+  public void openMappedInstance_otherByteOrder(@TempDir Path tempDir) throws IOException {
+    Path file = tempDir.resolve("array.bin");
+    ByteOrder other = ByteOrder.nativeOrder() == ByteOrder.BIG_ENDIAN ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN;
+    ByteBuffer content = ByteBuffer.allocate(MappedFiles.HEADER_SIZE + 2 * Short.BYTES).order(other);
+    content.putInt(MappedFiles.MAGIC).putInt(3).putInt(2).putInt(1).putShort((short) 258).putShort((short) 3);
+    Files.write(file, content.array());
+
+    Short2DArray array = Short2DArray.openMappedInstance(file, true);
+    assertThat(array.toArray()).isEqualTo(new short[]{258, 3});
+  }
+
+  @Test
+  public void openMappedInstance_wrongType(@TempDir Path tempDir) throws IOException {
+    Path file = tempDir.resolve("array.bin");
+    Int2DArray.newMappedInstance(file, 3, 2);
+
+    assertThatThrownBy(() -> Long2DArray.openMappedInstance(file, true))
+        .isInstanceOf(IOException.class)
+        .hasMessageContaining("does not contain an array of long");
+  }
+
+  @Test
+  public void openMappedInstance_noArrayFile(@TempDir Path tempDir) throws IOException {
+    Path file = tempDir.resolve("array.bin");
+    Files.write(file, new byte[32]);
+
+    assertThatThrownBy(() -> Int2DArray.openMappedInstance(file, true))
+        .isInstanceOf(IOException.class)
+        .hasMessageContaining("is not a mapped 2D array");
+  }
+
+  @Test
+  public void newMappedInstance_severalSegments(@TempDir Path tempDir) throws IOException {
+    Path file = tempDir.resolve("array.bin");
+    // Two rows per segment
+    SegmentedInt2DArrayImpl array = SegmentedInt2DArrayImpl.ofMapping(MappedFiles.create(file, int.class, 3, 5, 24));
+    array.fill(1).set(2, 4, 42).set(0, 2, 7);
+    array.force();
+
+    assertThat(array.segments).hasSize(3);
+    ByteBuffer content = ByteBuffer.wrap(Files.readAllBytes(file)).order(ByteOrder.nativeOrder());
+    assertThat(content.capacity()).isEqualTo(MappedFiles.HEADER_SIZE + 15 * Integer.BYTES);
+    assertThat(content.getInt(MappedFiles.HEADER_SIZE + 6 * Integer.BYTES)).isEqualTo(7);
+    assertThat(content.getInt(MappedFiles.HEADER_SIZE + 14 * Integer.BYTES)).isEqualTo(42);
+
+    SegmentedInt2DArrayImpl reopened = SegmentedInt2DArrayImpl.ofMapping(MappedFiles.open(file, int.class, true, 12));
+    assertThat(reopened.segments).hasSize(5);
+    assertThat(reopened).isEqualTo(array);
+  }
+
+  @Test
+  public void force(@TempDir Path tempDir) throws IOException {
+    Path file = tempDir.resolve("array.bin");
+    Long2DArray array = Long2DArray.newMappedInstance(file, 2, 2);
+
+    array.set(1, 1, 42L);
+    array.force();
+
+    ByteBuffer content = ByteBuffer.wrap(Files.readAllBytes(file)).order(ByteOrder.nativeOrder());
+    assertThat(content.getLong(MappedFiles.HEADER_SIZE + 3 * Long.BYTES)).isEqualTo(42L);
+  }
+
+  @Test
+  public void unmap(@TempDir Path tempDir) throws IOException {
+    Path file = tempDir.resolve("array.bin");
+    Int2DArray array = Int2DArray.newMappedInstance(file, 3, 2).fill(5);
+
+    array.unmap();
+
+    assertThatThrownBy(() -> array.get(0, 0)).isInstanceOf(NullPointerException.class);
+    assertThat(Int2DArray.openMappedInstance(file, true).toArray()).containsOnly(5);
+  }
+
+  @Test
+  public void unmap_notMapped() {
+    Int2DArray array = Int2DArray.newDirectInstance(3, 2).fill(5);
+
+    array.unmap();
+
+    assertThat(array.toArray()).containsOnly(5);
+  }
+}
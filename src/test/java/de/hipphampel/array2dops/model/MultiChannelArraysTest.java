@@ -0,0 +1,162 @@
+/*
+ * The MIT License
+ * Copyright © 2023 Johannes Hampel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.hipphampel.array2dops.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+public class MultiChannelArraysTest {
+
+  @ParameterizedTest
+  @EnumSource(ChannelLayout.class)
+  public void newInstance(ChannelLayout layout) {
+    MultiChannelFloat2DArray array = MultiChannelFloat2DArray.newInstance(4, 3, 2, layout);
+
+    assertThat(array.getWidth()).isEqualTo(4);
+    assertThat(array.getHeight()).isEqualTo(3);
+    assertThat(array.getChannels()).isEqualTo(2);
+    assertThat(array.getLayout()).isEqualTo(layout);
+    assertThat(array.getData().getWidth() * array.getData().getHeight()).isEqualTo(24);
+    assertThat(array.get(3, 2, 1)).isZero();
+  }
+
+  @Test
+  public void newInstance_invalidChannels() {
+    assertThatThrownBy(() -> MultiChannelFloat2DArray.newInstance(4, 3, 0, ChannelLayout.PLANAR))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("channels must be positive, but is 0");
+  }
+
+  @Test
+  public void newInstance_sideTooLarge() {
+    assertThatThrownBy(() -> MultiChannelFloat2DArray.newInstance(1 << 30, 0, 4, ChannelLayout.INTERLEAVED))
+        .isInstanceOf(ArrayIndexOutOfBoundsException.class)
+        .hasMessage("Cannot allocate 4 channels for size 1073741824x0");
+    assertThatThrownBy(() -> MultiChannelFloat2DArray.newInstance(0, 1 << 30, 4, ChannelLayout.PLANAR))
+        .isInstanceOf(ArrayIndexOutOfBoundsException.class);
+    assertThat(MultiChannelFloat2DArray.newInstance(1 << 30, 0, 4, ChannelLayout.PLANAR).getWidth()).isEqualTo(1 << 30);
+  }
+
+  @Test
+  public void getData_layout() {
+    MultiChannelInt2DArray planar = MultiChannelInt2DArray.newInstance(2, 2, 3, ChannelLayout.PLANAR);
+    MultiChannelInt2DArray interleaved = MultiChannelInt2DArray.newInstance(2, 2, 3, ChannelLayout.INTERLEAVED);
+    for (int c = 0; c < 3; c++) {
+      planar.channel(c).fill(c + 1);
+      interleaved.channel(c).fill(c + 1);
+    }
+
+    assertThat(planar.getData().toArray()).containsExactly(1, 1, 1, 1, 2, 2, 2, 2, 3, 3, 3, 3);
+    assertThat(interleaved.getData().toArray()).containsExactly(1, 2, 3, 1, 2, 3, 1, 2, 3, 1, 2, 3);
+  }
+
+  @ParameterizedTest
+  @EnumSource(ChannelLayout.class)
+  public void channel_sharesMemory(ChannelLayout layout) {
+    MultiChannelFloat2DArray array = MultiChannelFloat2DArray.newInstance(5, 4, 3, layout);
+    Float2DArray green = array.channel(1);
+
+    green.set(2, 3, 1.5f);
+    array.set(4, 0, 1, 2.5f);
+
+    assertThat(array.get(2, 3, 1)).isEqualTo(1.5f);
+    assertThat(green.get(4, 0)).isEqualTo(2.5f);
+    assertThat(array.channel(0).toArray()).containsOnly(0f);
+    assertThat(array.channel(2).toArray()).containsOnly(0f);
+  }
+
+  @ParameterizedTest
+  @EnumSource(ChannelLayout.class)
+  public void channel_supportsArrayOperations(ChannelLayout layout) {
+    MultiChannelFloat2DArray array = MultiChannelFloat2DArray.newInstance(37, 5, 4, layout);
+
+    array.channel(2).fill(1f).mapInPlace(v -> v * 3);
+    array.channel(3).fillFrom(0, 0, array.channel(2)).replaceAll(3f, 4f);
+
+    assertThat(array.channel(2).toArray()).containsOnly(3f);
+    assertThat(array.channel(3).toArray()).containsOnly(4f);
+    assertThat(array.channel(1).toArray()).containsOnly(0f);
+  }
+
+  @Test
+  public void channel_invalidIndex() {
+    MultiChannelFloat2DArray array = MultiChannelFloat2DArray.newInstance(5, 4, 3, ChannelLayout.PLANAR);
+
+    assertThatThrownBy(() -> array.channel(3)).isInstanceOf(IndexOutOfBoundsException.class);
+    assertThatThrownBy(() -> array.get(5, 0, 0)).isInstanceOf(IndexOutOfBoundsException.class);
+  }
+
+  @Test
+  public void toLayout_roundTrip() {
+    MultiChannelShort2DArray planar = MultiChannelShort2DArray.newInstance(37, 11, 3, ChannelLayout.PLANAR);
+    for (int c = 0; c < 3; c++) {
+      for (int y = 0; y < 11; y++) {
+        for (int x = 0; x < 37; x++) {
+          planar.set(x, y, c, (short) (x + 100 * y + 10000 * c));
+        }
+      }
+    }
+
+    MultiChannelShort2DArray interleaved = planar.toLayout(ChannelLayout.INTERLEAVED);
+
+    assertThat(interleaved.getLayout()).isEqualTo(ChannelLayout.INTERLEAVED);
+    assertThat(interleaved.get(36, 10, 2)).isEqualTo((short) (36 + 1000 + 20000));
+    assertThat(interleaved).isEqualTo(planar);
+    assertThat(interleaved.toLayout(ChannelLayout.INTERLEAVED)).isSameAs(interleaved);
+    MultiChannelShort2DArray back = interleaved.toLayout(ChannelLayout.PLANAR);
+    assertThat(back.getData()).isEqualTo(planar.getData());
+  }
+
+  @Test
+  public void of() {
+    Byte2DArray red = Byte2DArray.newInstance(3, 2).fill((byte) 1);
+    Byte2DArray green = Byte2DArray.newInstance(3, 2).fill((byte) 2);
+
+    MultiChannelByte2DArray array = MultiChannelByte2DArray.of(ChannelLayout.INTERLEAVED, red, green);
+
+    assertThat(array.getChannels()).isEqualTo(2);
+    assertThat(array.channel(0)).isEqualTo(red);
+    assertThat(array.channel(1)).isEqualTo(green);
+    assertThatThrownBy(() -> MultiChannelByte2DArray.of(ChannelLayout.PLANAR, red, Byte2DArray.newInstance(2, 3)))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Incompatible array sizes");
+  }
+
+  @Test
+  public void copy() {
+    MultiChannelDouble2DArray array = MultiChannelDouble2DArray.newInstance(3, 2, 2, ChannelLayout.INTERLEAVED);
+    array.set(1, 1, 1, 4.0);
+
+    MultiChannelDouble2DArray copy = array.copy();
+    array.set(0, 0, 0, 1.0);
+
+    assertThat(copy.getLayout()).isEqualTo(ChannelLayout.INTERLEAVED);
+    assertThat(copy.get(1, 1, 1)).isEqualTo(4.0);
+    assertThat(copy.get(0, 0, 0)).isZero();
+    assertThat(copy).isNotEqualTo(array);
+  }
+}
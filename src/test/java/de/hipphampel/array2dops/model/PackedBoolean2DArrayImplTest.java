@@ -0,0 +1,169 @@
+/*
+ * The MIT License
+ * Copyright © 2023 Johannes Hampel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.hipphampel.array2dops.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Random;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+public class PackedBoolean2DArrayImplTest {
+
+  private Boolean2DArray reference;
+  private Boolean2DArray array;
+
+  @BeforeEach
+  public void beforeEach() {
+    reference = randomMask(77, 13, 4711);
+    array = Boolean2DArray.newPackedInstance(77, 13).fillFrom(0, 0, reference);
+  }
+
+  private static Boolean2DArray randomMask(int width, int height, long seed) {
+    Random random = new Random(seed);
+    Boolean2DArray mask = Boolean2DArray.newInstance(width, height);
+    for (int y = 0; y < height; y++) {
+      for (int x = 0; x < width; x++) {
+        mask.setUnsafe(x, y, random.nextBoolean());
+      }
+    }
+    return mask;
+  }
+
+  @Test
+  public void newPackedInstance() {
+    Boolean2DArray packed = Boolean2DArray.newPackedInstance(100, 3);
+
+    assertThat(packed).isInstanceOf(PackedBoolean2DArrayImpl.class);
+    assertThat(((PackedBoolean2DArrayImpl) packed).words).hasSize(5);
+    assertThat(packed.cardinality()).isZero();
+  }
+
+  @Test
+  public void getUnsafe_setUnsafe() {
+    Boolean2DArray packed = Boolean2DArray.newPackedInstance(100, 3);
+
+    packed.setUnsafe(28, 1, true);
+
+    assertThat(packed.getUnsafe(28, 1)).isTrue();
+    assertThat(packed.getUnsafe(27, 1)).isFalse();
+    assertThat(((PackedBoolean2DArrayImpl) packed).words[2]).isEqualTo(1L);
+  }
+
+  @Test
+  public void toArray() {
+    assertThat(array.toArray()).isEqualTo(reference.toArray());
+  }
+
+  @Test
+  public void equalsAndHashCode() {
+    assertThat(array).isEqualTo(reference);
+    assertThat(reference).isEqualTo(array);
+    assertThat(array.hashCode()).isEqualTo(reference.hashCode());
+    assertThat(array.copy()).isEqualTo(array);
+
+    array.setUnsafe(76, 12, !array.getUnsafe(76, 12));
+    assertThat(array).isNotEqualTo(reference);
+  }
+
+  @ParameterizedTest
+  @CsvSource({
+      "0, 0",
+      "1, 1",
+      "64, 1",
+      "3, 70",
+      "65, 65",
+  })
+  public void hashCode_matchesDefault(int width, int height) {
+    Boolean2DArray mask = randomMask(width, height, width * 31L + height);
+
+    assertThat(Boolean2DArray.newPackedInstance(width, height).fillFrom(0, 0, mask).hashCode())
+        .isEqualTo(mask.hashCode());
+  }
+
+  @Test
+  public void copyRegion() {
+    Boolean2DArray region = array.copyRegion(3, 2, 70, 10);
+
+    assertThat(region).isInstanceOf(PackedBoolean2DArrayImpl.class)
+        .isEqualTo(reference.copyRegion(3, 2, 70, 10));
+  }
+
+  @Test
+  public void fill() {
+    array.fill(true);
+
+    assertThat(array.cardinality()).isEqualTo(77 * 13);
+    assertThat(array.toArray()).containsOnly(true);
+  }
+
+  @Test
+  public void fillRegion() {
+    array.fillRegion(5, 3, 66, 7, true);
+    reference.fillRegion(5, 3, 66, 7, true);
+    assertThat(array).isEqualTo(reference);
+
+    array.fillRegion(0, 1, 77, 4, false);
+    reference.fillRegion(0, 1, 77, 4, false);
+    assertThat(array).isEqualTo(reference);
+  }
+
+  @Test
+  public void fillFrom_packed() {
+    Boolean2DArray target = Boolean2DArray.newPackedInstance(200, 20);
+
+    target.fillFrom(61, 5, array);
+
+    assertThat(target.shallowRegion(61, 5, 77, 13)).isEqualTo(reference);
+    assertThat(target.cardinality()).isEqualTo(reference.cardinality());
+  }
+
+  @Test
+  public void logicalOperations() {
+    Boolean2DArray other = randomMask(77, 13, 42);
+    Boolean2DArray packedOther = Boolean2DArray.newPackedInstance(77, 13).fillFrom(0, 0, other);
+
+    assertThat(array.copy().and(packedOther)).isEqualTo(reference.copy().and(other));
+    assertThat(array.copy().or(packedOther)).isEqualTo(reference.copy().or(other));
+    assertThat(array.copy().xor(packedOther)).isEqualTo(reference.copy().xor(other));
+    assertThat(array.copy().andNot(packedOther)).isEqualTo(reference.copy().andNot(other));
+    assertThat(array.copy().not()).isEqualTo(reference.copy().not());
+    assertThat(array.copy().not().cardinality()).isEqualTo(77 * 13 - reference.cardinality());
+  }
+
+  @Test
+  public void logicalOperations_mixedImplementations() {
+    Boolean2DArray other = randomMask(77, 13, 42);
+
+    assertThat(array.copy().xor(other)).isEqualTo(reference.copy().xor(other));
+  }
+
+  @Test
+  public void logicalOperations_incompatibleSizes() {
+    assertThatThrownBy(() -> array.and(Boolean2DArray.newPackedInstance(3, 3)))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
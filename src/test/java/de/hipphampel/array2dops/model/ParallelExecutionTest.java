@@ -0,0 +1,148 @@
+/*
+ * The MIT License
+ * Copyright © 2023 Johannes Hampel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.hipphampel.array2dops.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import de.hipphampel.array2dops.geom.Transformation;
+import de.hipphampel.array2dops.matrix.DoubleMatrix;
+import de.hipphampel.array2dops.matrix.IntMatrix;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+public class ParallelExecutionTest {
+
+  private static ForkJoinPool pool;
+
+  @BeforeAll
+  public static void createPool() {
+    pool = new ForkJoinPool(4);
+  }
+
+  @AfterAll
+  public static void shutdownPool() {
+    pool.shutdown();
+  }
+
+  @AfterEach
+  public void disable() {
+    ParallelExecution.disable();
+  }
+
+  @Test
+  public void getPool() {
+    assertThat(ParallelExecution.isEnabled()).isFalse();
+    assertThat(ParallelExecution.getPool(Long.MAX_VALUE)).isNull();
+
+    ParallelExecution.enable(pool, 100);
+    assertThat(ParallelExecution.isEnabled()).isTrue();
+    assertThat(ParallelExecution.getPool(99)).isNull();
+    assertThat(ParallelExecution.getPool(100)).isSameAs(pool);
+
+    ParallelExecution.disable();
+    assertThat(ParallelExecution.isEnabled()).isFalse();
+    assertThat(ParallelExecution.getPool(100)).isNull();
+  }
+
+  @Test
+  public void enable_negativeThreshold() {
+    assertThatThrownBy(() -> ParallelExecution.enable(pool, -1))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("threshold must not be negative, but is -1");
+  }
+
+  @ParameterizedTest
+  @EnumSource(Transformation.class)
+  public void copyTransform(Transformation transformation) {
+    Int2DArray array = randomInts(37, 53);
+
+    assertSameResults(() -> array.copyTransform(transformation));
+    assertSameResults(() -> array.shallowRegion(3, 5, 30, 41).copyTransform(transformation));
+  }
+
+  @ParameterizedTest
+  @EnumSource(StorageLayout.class)
+  public void fillAndFillFrom(StorageLayout layout) {
+    Int2DArray source = randomInts(37, 53);
+
+    assertSameResults(() -> Int2DArray.newInstance(40, 60, layout).fill(7).fillFrom(2, 3, source));
+    assertSameResults(() -> Int2DArray.newInstance(40, 60, layout).fillRegion(1, 2, 35, 50, 9));
+  }
+
+  @Test
+  public void intMatrix() {
+    Int2DArray left = randomInts(45, 31);
+    Int2DArray right = randomInts(29, 45);
+
+    assertSameResults(() -> IntMatrix.mul(left, right));
+    assertSameResults(() -> IntMatrix.add(left, left.copyTransform(Transformation.FLIP_X)));
+    assertSameResults(() -> IntMatrix.sub(left, left.copyTransform(Transformation.FLIP_Y)));
+    assertSameResults(() -> IntMatrix.scalarMul(3, left));
+    assertSameResults(() -> IntMatrix.negate(left));
+  }
+
+  @Test
+  public void doubleMatrix() {
+    Random random = new Random(4711);
+    double[] leftData = new double[31 * 45];
+    double[] rightData = new double[45 * 29];
+    for (int i = 0; i < leftData.length; i++) {
+      leftData[i] = random.nextDouble();
+    }
+    for (int i = 0; i < rightData.length; i++) {
+      rightData[i] = random.nextDouble();
+    }
+    Double2DArray left = DoubleMatrix.newMatrix(leftData, 45, 31);
+    Double2DArray right = DoubleMatrix.newMatrix(rightData, 29, 45);
+
+    assertSameResults(() -> DoubleMatrix.mul(left, right));
+    assertSameResults(() -> DoubleMatrix.add(left, left.copyTransform(Transformation.ROTATE_CLOCKWISE_180)));
+  }
+
+  private static <T> void assertSameResults(Supplier<T> operation) {
+    ParallelExecution.disable();
+    T expected = operation.get();
+    ParallelExecution.enable(pool, 0);
+    T actual = operation.get();
+    ParallelExecution.disable();
+
+    assertThat(actual).isEqualTo(expected);
+  }
+
+  private static Int2DArray randomInts(int width, int height) {
+    Random random = new Random(width * 31L + height);
+    int[] data = new int[width * height];
+    for (int i = 0; i < data.length; i++) {
+      data[i] = random.nextInt();
+    }
+    return Int2DArray.newInstance(data, width, height);
+  }
+}
@@ -0,0 +1,189 @@
+/*
+ * The MIT License
+ * Copyright © 2023 Johannes Hampel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.hipphampel.array2dops.model;
+
+import static de.hipphampel.array2dops.model.TestUtils.serializeAndDeserialize;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import de.hipphampel.array2dops.draw.Int2DArrayDrawContext;
+import java.io.IOException;
+import java.util.Random;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class QuadtreeImplTest {
+
+  private Int2DArray reference;
+  private QuadtreeInt2DArrayImpl array;
+
+  @BeforeEach
+  public void beforeEach() {
+    reference = Int2DArray.newInstance(100, 37);
+    array = (QuadtreeInt2DArrayImpl) Int2DArray.newInstance(100, 37, StorageLayout.QUADTREE);
+  }
+
+  private void applyRandomRegions(long seed, int count) {
+    Random random = new Random(seed);
+    for (int i = 0; i < count; i++) {
+      int x = random.nextInt(reference.getWidth());
+      int y = random.nextInt(reference.getHeight());
+      int w = random.nextInt(reference.getWidth() - x + 1);
+      int h = random.nextInt(reference.getHeight() - y + 1);
+      int value = random.nextInt(4);
+      reference.fillRegion(x, y, w, h, value);
+      array.fillRegion(x, y, w, h, value);
+    }
+  }
+
+  @Test
+  public void newInstance() {
+    assertThat(array.size).isEqualTo(128);
+    assertThat(array.getNodeCount()).isEqualTo(1);
+    assertThat(array).isEqualTo(reference);
+    assertThat(((QuadtreeInt2DArrayImpl) Int2DArray.newInstance(0, 0, StorageLayout.QUADTREE)).size).isEqualTo(1);
+    assertThat(((QuadtreeInt2DArrayImpl) Int2DArray.newInstance(64, 1, StorageLayout.QUADTREE)).size).isEqualTo(64);
+    assertThat(((QuadtreeInt2DArrayImpl) Int2DArray.newInstance(1, 65, StorageLayout.QUADTREE)).size).isEqualTo(128);
+  }
+
+  @Test
+  public void newInstance_tooLarge() {
+    assertThat(((QuadtreeInt2DArrayImpl) Int2DArray.newInstance(1 << 30, 1, StorageLayout.QUADTREE)).size).isEqualTo(1 << 30);
+    assertThatThrownBy(() -> Int2DArray.newInstance(1, (1 << 30) + 1, StorageLayout.QUADTREE))
+        .isInstanceOf(ArrayIndexOutOfBoundsException.class)
+        .hasMessage("Size 1x1073741825 is too large for a quadtree");
+  }
+
+  @Test
+  public void newInstance_defaultValues() {
+    assertThat(Boolean2DArray.newInstance(3, 2, StorageLayout.QUADTREE).get(2, 1)).isFalse();
+    assertThat(Char2DArray.newInstance(3, 2, StorageLayout.QUADTREE).get(2, 1)).isEqualTo((char) 0);
+    assertThat(Object2DArray.newInstance(3, 2, StorageLayout.QUADTREE).get(2, 1)).isNull();
+  }
+
+  @Test
+  public void serialize() throws IOException, ClassNotFoundException {
+    applyRandomRegions(4711, 20);
+
+    Int2DArray copy = serializeAndDeserialize(array);
+
+    assertThat(copy).isInstanceOf(QuadtreeInt2DArrayImpl.class);
+    assertThat(((QuadtreeInt2DArrayImpl) copy).getNodeCount()).isEqualTo(array.getNodeCount());
+    assertThat(copy).isEqualTo(reference);
+  }
+
+  @Test
+  public void setUnsafe_getUnsafe() {
+    array.setUnsafe(99, 36, 5);
+    array.setUnsafe(0, 0, 7);
+
+    assertThat(array.getUnsafe(99, 36)).isEqualTo(5);
+    assertThat(array.getUnsafe(0, 0)).isEqualTo(7);
+    assertThat(array.getUnsafe(50, 20)).isEqualTo(0);
+
+    array.setUnsafe(99, 36, 0);
+    array.setUnsafe(0, 0, 0);
+
+    assertThat(array.getNodeCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void fillRegion_matchesReference() {
+    applyRandomRegions(4711, 50);
+
+    assertThat(array.toArray()).isEqualTo(reference.toArray());
+    assertThat(array).isEqualTo(reference);
+    assertThat(reference).isEqualTo(array);
+    assertThat(array.hashCode()).isEqualTo(reference.hashCode());
+  }
+
+  @Test
+  public void fillRegion_alignedBlocksCollapse() {
+    array.fillRegion(0, 0, 64, 32, 1);
+
+    // root, its two children inside the array, and the four quadrants of the top left child
+    assertThat(array.getNodeCount()).isEqualTo(1 + 2 + 4);
+    assertThat(array.getUnsafe(63, 31)).isEqualTo(1);
+    assertThat(array.getUnsafe(64, 31)).isEqualTo(0);
+
+    array.fillRegion(0, 0, 100, 37, 1);
+
+    assertThat(array.getNodeCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void fillRegion_fail() {
+    assertThatThrownBy(() -> array.fillRegion(90, 0, 11, 1, 1))
+        .isInstanceOf(ArrayIndexOutOfBoundsException.class);
+  }
+
+  @Test
+  public void fill() {
+    applyRandomRegions(42, 10);
+
+    array.fill(3);
+
+    assertThat(array.getNodeCount()).isEqualTo(1);
+    assertThat(array).isEqualTo(reference.fill(3));
+  }
+
+  @Test
+  public void copy() {
+    applyRandomRegions(42, 10);
+
+    Int2DArray copy = array.copy();
+    copy.setUnsafe(0, 0, 99);
+
+    assertThat(copy).isInstanceOf(QuadtreeInt2DArrayImpl.class);
+    assertThat(array).isEqualTo(reference);
+    assertThat(copy).isNotEqualTo(reference);
+  }
+
+  @Test
+  public void equals_differentStructure() {
+    QuadtreeInt2DArrayImpl other = (QuadtreeInt2DArrayImpl) Int2DArray.newInstance(100, 37, StorageLayout.QUADTREE);
+    applyRandomRegions(42, 10);
+    other.fillFrom(0, 0, reference);
+
+    assertThat(other).isEqualTo(array);
+    assertThat(other.hashCode()).isEqualTo(array.hashCode());
+
+    other.setUnsafe(17, 3, 9);
+
+    assertThat(other).isNotEqualTo(array);
+  }
+
+  @Test
+  public void drawContext_fillRect() {
+    Int2DArrayDrawContext context = new Int2DArrayDrawContext(array).color(1);
+
+    context.fillRect(-10, -10, 63, 31);
+
+    assertThat(array.getNodeCount()).isEqualTo(1 + 2 + 4);
+    assertThat(array).isEqualTo(reference.fillRegion(0, 0, 64, 32, 1));
+
+    context.fillRect(0, 0, 200, 200);
+
+    assertThat(array.getNodeCount()).isEqualTo(1);
+  }
+}
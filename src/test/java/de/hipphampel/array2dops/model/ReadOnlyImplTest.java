@@ -319,7 +319,7 @@ public class ReadOnlyImplTest {
     Char2DArray array = base.toReadOnly();
 
     Char2DArray region = array.shallowRegion(2, 1, 3, 2);
-    assertThat(region).isInstanceOf(SubChar2DArrayImpl.class);
+    assertThat(region).isInstanceOf(StridedChar2DArrayImpl.class);
     assertThat(region.printToString("", ":")).isEqualTo("abc:def");
 
     assertThatThrownBy(() -> region.set(0, 0, 'x')).isInstanceOf(
@@ -400,7 +400,7 @@ public class ReadOnlyImplTest {
     Char2DArray array = base.toReadOnly();
 
     Char2DArray transformed = array.shallowTransform(Transformation.FLIP_Y);
-    assertThat(transformed).isInstanceOf(TransformChar2DArrayImpl.class);
+    assertThat(transformed).isInstanceOf(StridedChar2DArrayImpl.class);
     assertThat(transformed.printToString("", ":")).isEqualTo("def:abc");
 
     assertThatThrownBy(() -> transformed.set(0, 0, 'x')).isInstanceOf(
@@ -0,0 +1,179 @@
+/*
+ * The MIT License
+ * Copyright © 2023 Johannes Hampel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.hipphampel.array2dops.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import de.hipphampel.array2dops.geom.Transformation;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import org.junit.jupiter.api.Test;
+
+public class ReinterpretViewsTest {
+
+  @Test
+  public void asInt2DArray_bigEndian() {
+    Byte2DArray bytes = Byte2DArray.newInstance(new byte[]{
+        0x01, 0x02, 0x03, 0x04, 0x11, 0x12, 0x13, 0x14,
+        (byte) 0xff, 0, 0, 0, 0, 0, 0, 0x7f}, 8, 2);
+
+    Int2DArray ints = bytes.asInt2DArray(ByteOrder.BIG_ENDIAN);
+
+    assertThat(ints.getWidth()).isEqualTo(2);
+    assertThat(ints.getHeight()).isEqualTo(2);
+    assertThat(ints.toArray()).containsExactly(0x01020304, 0x11121314, 0xff000000, 0x0000007f);
+  }
+
+  @Test
+  public void asInt2DArray_littleEndian() {
+    Byte2DArray bytes = Byte2DArray.newInstance(new byte[]{0x01, 0x02, 0x03, 0x04}, 4, 1);
+
+    Int2DArray ints = bytes.asInt2DArray(ByteOrder.LITTLE_ENDIAN);
+
+    assertThat(ints.get(0, 0)).isEqualTo(0x04030201);
+  }
+
+  @Test
+  public void asInt2DArray_sharesMemory() {
+    Byte2DArray bytes = Byte2DArray.newInstance(8, 1);
+    Int2DArray ints = bytes.asInt2DArray(ByteOrder.BIG_ENDIAN);
+
+    ints.set(1, 0, 0x0a0b0c0d);
+    bytes.set(0, 0, (byte) 0x80);
+
+    assertThat(bytes.getData()).containsExactly((byte) 0x80, 0, 0, 0, 0x0a, 0x0b, 0x0c, 0x0d);
+    assertThat(ints.get(0, 0)).isEqualTo(0x80000000);
+  }
+
+  @Test
+  public void asByte2DArray_ofDirectInstance() {
+    Int2DArray ints = Int2DArray.newDirectInstance(2, 2).fill(0x01020304);
+
+    Byte2DArray bytes = ints.asByte2DArray();
+    bytes.set(0, 1, (byte) 0);
+
+    assertThat(bytes.getWidth()).isEqualTo(8);
+    assertThat(bytes.getHeight()).isEqualTo(2);
+    assertThat(bytes.asInt2DArray(ByteOrder.nativeOrder())).isEqualTo(ints);
+    assertThat(ints.get(0, 1)).isEqualTo(ByteOrder.nativeOrder() == ByteOrder.BIG_ENDIAN ? 0x00020304 : 0x01020300);
+  }
+
+  @Test
+  public void asFloat2DArray_reinterpretsBits() {
+    Int2DArray ints = Int2DArray.newDirectInstance(1, 1);
+    ints.set(0, 0, Float.floatToIntBits(1.5f));
+
+    assertThat(ints.asFloat2DArray(ByteOrder.nativeOrder()).get(0, 0)).isEqualTo(1.5f);
+  }
+
+  @Test
+  public void asShort2DArray_ofByteBufferInstance() {
+    ByteBuffer buffer = ByteBuffer.wrap(new byte[]{0, 0, 0x12, 0x34, 0x56, 0x78});
+    buffer.position(2);
+
+    Short2DArray shorts = Byte2DArray.newInstance(buffer, 2, 2).asShort2DArray(ByteOrder.BIG_ENDIAN);
+
+    assertThat(shorts.toArray()).containsExactly((short) 0x1234, (short) 0x5678);
+  }
+
+  @Test
+  public void asLong2DArray_widthNotMatching() {
+    Byte2DArray bytes = Byte2DArray.newInstance(12, 1);
+
+    assertThatThrownBy(() -> bytes.asLong2DArray(ByteOrder.BIG_ENDIAN))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Row size of 12 bytes is not a multiple of 8");
+  }
+
+  @Test
+  public void views_notBackedByBytes() {
+    Int2DArray ints = Int2DArray.newInstance(2, 2);
+    Byte2DArray transformed = Byte2DArray.newInstance(8, 2).shallowTransform(Transformation.FLIP_X);
+
+    assertThatThrownBy(ints::getByteBuffer)
+        .isInstanceOf(UnsupportedOperationException.class)
+        .hasMessage("Not backed by bytes");
+    assertThatThrownBy(ints::asByte2DArray)
+        .isInstanceOf(UnsupportedOperationException.class);
+    assertThatThrownBy(() -> transformed.asInt2DArray(ByteOrder.BIG_ENDIAN))
+        .isInstanceOf(UnsupportedOperationException.class)
+        .hasMessage("Not backed by bytes");
+  }
+
+  @Test
+  public void views_ofRegion() {
+    Byte2DArray bytes = Byte2DArray.newInstance(12, 3);
+    Int2DArray ints = bytes.shallowRegion(4, 1, 8, 2).asInt2DArray(ByteOrder.BIG_ENDIAN);
+    ints.set(1, 1, 0x01020304);
+
+    assertThat(ints.getWidth()).isEqualTo(2);
+    assertThat(ints.getHeight()).isEqualTo(2);
+    assertThat(bytes.getRow(8, 2, 4, new byte[4], 0, 1)).containsExactly(1, 2, 3, 4);
+    assertThat(bytes.shallowRegion(4, 1, 8, 2).toReadOnly().asInt2DArray(ByteOrder.BIG_ENDIAN).get(1, 1)).isEqualTo(0x01020304);
+  }
+
+  @Test
+  public void views_ofRegionOfDirectInstance() {
+    Int2DArray ints = Int2DArray.newDirectInstance(3, 2);
+    Byte2DArray bytes = ints.shallowRegion(1, 0, 2, 2).asByte2DArray();
+    bytes.fillRegion(4, 1, 4, 1, (byte) 5);
+
+    assertThat(bytes.getWidth()).isEqualTo(8);
+    assertThat(ints.get(2, 1)).isEqualTo(0x05050505);
+    assertThat(ints.get(1, 1)).isZero();
+  }
+
+  @Test
+  public void views_ofRegionNotAligned() {
+    Byte2DArray region = Byte2DArray.newInstance(8, 2).shallowRegion(2, 0, 4, 2);
+
+    assertThatThrownBy(() -> region.asInt2DArray(ByteOrder.BIG_ENDIAN))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Region edge at 2 bytes is not a multiple of 4");
+  }
+
+  @Test
+  public void views_ofReadOnlyInstance() {
+    Byte2DArray bytes = Byte2DArray.newInstance(4, 1);
+    Int2DArray ints = bytes.toReadOnly().asInt2DArray(ByteOrder.BIG_ENDIAN);
+    bytes.set(3, 0, (byte) 7);
+
+    assertThat(ints.isReadOnly()).isTrue();
+    assertThat(ints.get(0, 0)).isEqualTo(7);
+    assertThatThrownBy(() -> ints.set(0, 0, 1))
+        .isInstanceOf(UnsupportedOperationException.class)
+        .hasMessage("read-only instance");
+  }
+
+  @Test
+  public void getByteBuffer_keepsByteOrder() {
+    Long2DArray longs = Byte2DArray.newInstance(16, 1).asLong2DArray(ByteOrder.LITTLE_ENDIAN);
+
+    ByteBuffer buffer = longs.getByteBuffer();
+
+    assertThat(buffer.order()).isEqualTo(ByteOrder.LITTLE_ENDIAN);
+    assertThat(buffer.position()).isZero();
+    assertThat(buffer.limit()).isEqualTo(16);
+  }
+}
@@ -0,0 +1,112 @@
+/*
+ * The MIT License
+ * Copyright © 2023 Johannes Hampel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.hipphampel.array2dops.model;
+
+import static de.hipphampel.array2dops.model.TestUtils.toChar2DArray;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import de.hipphampel.array2dops.geom.Transformation;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+public class RowColumnAccessTest {
+
+  private static final String CONTENT = """
+      abcd
+      efgh
+      ijkl
+      """;
+
+  public static Stream<Function<Char2DArray, Char2DArray>> variants() {
+    return Stream.of(
+        array -> array,
+        array -> Char2DArray.newInstance(array.getWidth(), array.getHeight(), StorageLayout.TILED).fillFrom(0, 0, array),
+        array -> Char2DArray.newInstance(array.getWidth(), array.getHeight(), StorageLayout.ROWS).fillFrom(0, 0, array),
+        array -> Char2DArray.newInstance(array.getWidth(), array.getHeight(), StorageLayout.QUADTREE).fillFrom(0, 0, array),
+        array -> Char2DArray.newDirectInstance(array.getWidth(), array.getHeight()).fillFrom(0, 0, array),
+        array -> Char2DArray.newInstance(array.getWidth() + 2, array.getHeight() + 1).fill('?')
+            .fillFrom(1, 1, array).shallowRegion(1, 1, array.getWidth(), array.getHeight()),
+        array -> new SubChar2DArrayImpl(Char2DArray.newInstance(array.getWidth() + 1, array.getHeight() + 1)
+            .fillFrom(1, 1, array), 1, 1, array.getWidth(), array.getHeight()),
+        array -> array.copyTransform(Transformation.FLIP_X).shallowTransform(Transformation.FLIP_X),
+        array -> array.copyTransform(Transformation.TRANSPOSE).shallowTransform(Transformation.TRANSPOSE),
+        array -> new TransformChar2DArrayImpl(array.copyTransform(Transformation.TRANSPOSE), Transformation.TRANSPOSE),
+        array -> new TransformChar2DArrayImpl(array.copyTransform(Transformation.FLIP_Y), Transformation.FLIP_Y));
+  }
+
+  @ParameterizedTest
+  @MethodSource("variants")
+  public void getRow_getColumn(Function<Char2DArray, Char2DArray> variant) {
+    Char2DArray array = variant.apply(toChar2DArray(CONTENT));
+
+    assertThat(new String(array.getRow(1, new char[5], 1), 1, 4)).isEqualTo("efgh");
+    assertThat(new String(array.getColumn(2, new char[3], 0))).isEqualTo("cgk");
+    assertThat(new String(array.getRow(1, 2, 3, "......".toCharArray(), 0, 2))).isEqualTo("j.k.l.");
+    assertThat(new String(array.getColumn(3, 1, 2, "....".toCharArray(), 1, 2))).isEqualTo(".h.l");
+    assertThat(new String(array.getRow(0, 0, 0, new char[0], 0, 1))).isEmpty();
+  }
+
+  @ParameterizedTest
+  @MethodSource("variants")
+  public void setRow_setColumn(Function<Char2DArray, Char2DArray> variant) {
+    Char2DArray array = variant.apply(toChar2DArray(CONTENT));
+
+    array.setRow(0, "xWXYZ".toCharArray(), 1);
+    assertThat(array.printToString("", ":")).isEqualTo("WXYZ:efgh:ijkl");
+
+    array.setColumn(1, "123".toCharArray(), 0);
+    assertThat(array.printToString("", ":")).isEqualTo("W1YZ:e2gh:i3kl");
+
+    array.setRow(1, 2, 2, "-+-+".toCharArray(), 1, 2);
+    array.setColumn(0, 1, 2, "<.>".toCharArray(), 0, 2);
+    assertThat(array.printToString("", ":")).isEqualTo("W1YZ:<2gh:>++l");
+  }
+
+  @ParameterizedTest
+  @MethodSource("variants")
+  public void rowColumn_fail(Function<Char2DArray, Char2DArray> variant) {
+    Char2DArray array = variant.apply(toChar2DArray(CONTENT));
+
+    assertThatThrownBy(() -> array.getRow(3, new char[4], 0)).isInstanceOf(ArrayIndexOutOfBoundsException.class);
+    assertThatThrownBy(() -> array.getRow(0, new char[4], 1)).isInstanceOf(ArrayIndexOutOfBoundsException.class);
+    assertThatThrownBy(() -> array.getColumn(1, 1, 3, new char[3], 0, 1)).isInstanceOf(ArrayIndexOutOfBoundsException.class);
+    assertThatThrownBy(() -> array.setColumn(4, new char[3], 0)).isInstanceOf(ArrayIndexOutOfBoundsException.class);
+    assertThatThrownBy(() -> array.setRow(0, 0, 2, new char[2], 0, 2)).isInstanceOf(ArrayIndexOutOfBoundsException.class);
+    assertThatThrownBy(() -> array.getRow(0, 0, 2, new char[3], 0, 0)).isInstanceOf(IllegalArgumentException.class);
+    assertThat(array.printToString("", ":")).isEqualTo("abcd:efgh:ijkl");
+  }
+
+  @Test
+  public void readOnly() {
+    Char2DArray array = toChar2DArray(CONTENT).toReadOnly();
+
+    assertThat(new String(array.getColumn(0, new char[3], 0))).isEqualTo("aei");
+    assertThatThrownBy(() -> array.setRow(0, new char[4], 0)).isInstanceOf(UnsupportedOperationException.class);
+    assertThatThrownBy(() -> array.shallowRegion(0, 0, 2, 2).setColumn(0, new char[2], 0))
+        .isInstanceOf(UnsupportedOperationException.class);
+  }
+}
@@ -0,0 +1,153 @@
+/*
+ * The MIT License
+ * Copyright © 2023 Johannes Hampel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.hipphampel.array2dops.model;
+
+import static de.hipphampel.array2dops.model.TestUtils.toChar2DArray;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import de.hipphampel.array2dops.geom.Transformation;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+public class RowSpansTest {
+
+  private static final String CONTENT = """
+      abcde
+      fghij
+      klmno
+      pqrst
+      """;
+
+  public static Stream<Function<Char2DArray, Char2DArray>> variants() {
+    return Stream.of(
+        array -> array,
+        array -> Char2DArray.newInstance(array.getWidth(), array.getHeight(), StorageLayout.TILED).fillFrom(0, 0, array),
+        array -> Char2DArray.newInstance(array.getWidth(), array.getHeight(), StorageLayout.ROWS).fillFrom(0, 0, array),
+        array -> Char2DArray.newInstance(array.getWidth(), array.getHeight(), StorageLayout.QUADTREE).fillFrom(0, 0, array),
+        array -> new ChunkedChar2DArrayImpl(array.getWidth(), array.getHeight(), 10).fillFrom(0, 0, array),
+        array -> Char2DArray.newDirectInstance(array.getWidth(), array.getHeight()).fillFrom(0, 0, array),
+        array -> Char2DArray.newInstance(array.getWidth() + 2, array.getHeight() + 1).fill('?')
+            .fillFrom(1, 1, array).shallowRegion(1, 1, array.getWidth(), array.getHeight()),
+        array -> new SubChar2DArrayImpl(Char2DArray.newInstance(array.getWidth() + 2, array.getHeight(), StorageLayout.TILED)
+            .fillFrom(2, 0, array), 2, 0, array.getWidth(), array.getHeight()),
+        array -> array.copyTransform(Transformation.FLIP_X).shallowTransform(Transformation.FLIP_X),
+        array -> new TransformChar2DArrayImpl(array.copyTransform(Transformation.TRANSPOSE), Transformation.TRANSPOSE),
+        array -> array.toReadOnly());
+  }
+
+  @ParameterizedTest
+  @MethodSource("variants")
+  public void readRowSpans(Function<Char2DArray, Char2DArray> variant) {
+    Char2DArray array = variant.apply(toChar2DArray(CONTENT));
+    List<String> spans = new ArrayList<>();
+
+    array.readRowSpans(1, 1, 3, 2, (x, y, span, offset, length) -> {
+      assertThat(new String(span, offset, length)).isEqualTo(array.copyRegion(x, y, length, 1).printToString("", ""));
+      spans.add(y + ":" + new String(span, offset, length));
+    });
+
+    assertThat(spans).containsExactly("1:ghi", "2:lmn");
+  }
+
+  @ParameterizedTest
+  @MethodSource("variants")
+  public void updateRowSpans(Function<Char2DArray, Char2DArray> variant) {
+    Char2DArray array = variant.apply(toChar2DArray(CONTENT));
+    if (array.isReadOnly()) {
+      assertThatThrownBy(() -> array.updateRowSpans(0, 0, 1, 1, (x, y, span, offset, length) -> {
+      })).isInstanceOf(UnsupportedOperationException.class);
+      return;
+    }
+
+    array.updateRowSpans(1, 1, 3, 2, (x, y, span, offset, length) -> {
+      for (int i = 0; i < length; i++) {
+        span[offset + i] = Character.toUpperCase(span[offset + i]);
+      }
+    });
+
+    assertThat(array.printToString("", ":")).isEqualTo("abcde:fGHIj:kLMNo:pqrst");
+  }
+
+  @ParameterizedTest
+  @MethodSource("variants")
+  public void rowSpans_fail(Function<Char2DArray, Char2DArray> variant) {
+    Char2DArray array = variant.apply(toChar2DArray(CONTENT));
+
+    assertThatThrownBy(() -> array.readRowSpans(1, 1, 5, 1, (x, y, span, offset, length) -> {
+    })).isInstanceOf(ArrayIndexOutOfBoundsException.class);
+    assertThatThrownBy(() -> array.readRowSpans(-1, 0, 1, 1, (x, y, span, offset, length) -> {
+    })).isInstanceOf(ArrayIndexOutOfBoundsException.class);
+  }
+
+  @ParameterizedTest
+  @MethodSource("variants")
+  public void bulkOperations(Function<Char2DArray, Char2DArray> variant) {
+    Char2DArray reference = toChar2DArray(CONTENT);
+    Char2DArray array = variant.apply(reference);
+
+    assertThat(array.toArray()).isEqualTo(reference.toArray());
+    assertThat(array.hashCode()).isEqualTo(columnMajorHash(reference));
+    assertThat(array).isEqualTo(reference);
+    assertThat(array.copyRegion(1, 2, 3, 2).printToString("", ":")).isEqualTo("lmn:qrs");
+  }
+
+  @Test
+  public void readRowSpans_tiledSplitsAtTileBoundaries() {
+    Char2DArray array = Char2DArray.newInstance(100, 2, StorageLayout.TILED).fill('x');
+    List<String> spans = new ArrayList<>();
+
+    array.readRowSpans(60, 1, 40, 1, (x, y, span, offset, length) -> spans.add(x + "+" + length));
+
+    assertThat(spans).containsExactly("60+4", "64+36");
+  }
+
+  @Test
+  public void hashCode_matchesColumnMajorDefinition() {
+    Char2DArray array = Char2DArray.newInstance(70, 3, StorageLayout.TILED);
+    for (int x = 0; x < 70; x++) {
+      for (int y = 0; y < 3; y++) {
+        array.set(x, y, (char) ('a' + (x * 7 + y) % 26));
+      }
+    }
+
+    assertThat(array.hashCode()).isEqualTo(columnMajorHash(array));
+    assertThat(array.shallowRegion(3, 1, 60, 2).hashCode()).isEqualTo(columnMajorHash(array.copyRegion(3, 1, 60, 2)));
+  }
+
+  private static int columnMajorHash(Char2DArray array) {
+    int result = Objects.hash(array.getWidth(), array.getHeight());
+    for (int x = 0; x < array.getWidth(); x++) {
+      for (int y = 0; y < array.getHeight(); y++) {
+        result = result * 31 + Objects.hash(array.getUnsafe(x, y));
+      }
+    }
+    return result;
+  }
+}
@@ -0,0 +1,167 @@
+/*
+ * The MIT License
+ * Copyright © 2023 Johannes Hampel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.hipphampel.array2dops.model;
+
+import static de.hipphampel.array2dops.model.TestUtils.toChar2DArray;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import de.hipphampel.array2dops.geom.Transformation;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+public class RowsImplTest {
+
+  private static final String CONTENT = """
+      abc
+      def
+      ghi
+      jkl
+      """;
+
+  public static Stream<Function<Char2DArray, Char2DArray>> layouts() {
+    return Stream.of(
+        array -> Char2DArray.newInstance(array.getWidth(), array.getHeight(), StorageLayout.ROWS).fillFrom(0, 0, array),
+        array -> array,
+        array -> Char2DArray.newInstance(array.getWidth(), array.getHeight(), StorageLayout.TILED).fillFrom(0, 0, array));
+  }
+
+  @Test
+  public void newInstance_rows() {
+    char[][] rows = {{'a', 'b'}, {'c', 'd'}, {'e', 'f'}};
+
+    Char2DArray array = Char2DArray.newInstance(rows);
+    rows[1][0] = 'x';
+    array.set(1, 2, 'y');
+
+    assertThat(array).isInstanceOf(RowsChar2DArrayImpl.class);
+    assertThat(array.printToString("", ":")).isEqualTo("ab:xd:ey");
+    assertThat(rows[2][1]).isEqualTo('y');
+    assertThat(Char2DArray.newInstance(new char[0][])).isEqualTo(Char2DArray.newInstance(0, 0));
+  }
+
+  @Test
+  public void newInstance_rows_fail() {
+    assertThatThrownBy(() -> Char2DArray.newInstance(new char[][]{{'a', 'b'}, {'c'}}))
+        .isInstanceOf(ArrayIndexOutOfBoundsException.class);
+  }
+
+  @Test
+  public void newInstance_layout() {
+    assertThat(Char2DArray.newInstance(3, 2, StorageLayout.ROWS)).isInstanceOf(RowsChar2DArrayImpl.class);
+  }
+
+  @ParameterizedTest
+  @MethodSource("layouts")
+  public void swapRows(Function<Char2DArray, Char2DArray> layout) {
+    Char2DArray array = layout.apply(toChar2DArray(CONTENT));
+
+    array.swapRows(0, 2).swapRows(3, 3);
+
+    assertThat(array.printToString("", ":")).isEqualTo("ghi:def:abc:jkl");
+    assertThatThrownBy(() -> array.swapRows(0, 4)).isInstanceOf(ArrayIndexOutOfBoundsException.class);
+    assertThatThrownBy(() -> array.swapRows(-1, 0)).isInstanceOf(ArrayIndexOutOfBoundsException.class);
+  }
+
+  @ParameterizedTest
+  @MethodSource("layouts")
+  public void permuteRows(Function<Char2DArray, Char2DArray> layout) {
+    Char2DArray array = layout.apply(toChar2DArray(CONTENT));
+
+    array.permuteRows(new int[]{3, 2, 0, 1});
+
+    assertThat(array.printToString("", ":")).isEqualTo("jkl:ghi:abc:def");
+  }
+
+  @ParameterizedTest
+  @MethodSource("layouts")
+  public void permuteRows_fail(Function<Char2DArray, Char2DArray> layout) {
+    Char2DArray array = layout.apply(toChar2DArray(CONTENT));
+
+    assertThatThrownBy(() -> array.permuteRows(new int[]{0, 1, 2}))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> array.permuteRows(new int[]{0, 1, 1, 2}))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> array.permuteRows(new int[]{0, 1, 2, 4}))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThat(array.printToString("", ":")).isEqualTo("abc:def:ghi:jkl");
+  }
+
+  @ParameterizedTest
+  @MethodSource("layouts")
+  public void rotateRows(Function<Char2DArray, Char2DArray> layout) {
+    Char2DArray array = layout.apply(toChar2DArray(CONTENT));
+
+    assertThat(array.rotateRows(1).printToString("", ":")).isEqualTo("jkl:abc:def:ghi");
+    assertThat(array.rotateRows(-3).printToString("", ":")).isEqualTo("ghi:jkl:abc:def");
+    assertThat(array.rotateRows(8).printToString("", ":")).isEqualTo("ghi:jkl:abc:def");
+  }
+
+  @Test
+  public void swapRows_movesReferences() {
+    RowsChar2DArrayImpl array = (RowsChar2DArrayImpl) Char2DArray.newInstance(3, 4, StorageLayout.ROWS)
+        .fillFrom(0, 0, toChar2DArray(CONTENT));
+    char[] first = array.rows[0];
+
+    array.swapRows(0, 3);
+
+    assertThat(array.rows[3]).isSameAs(first);
+  }
+
+  @Test
+  public void toArray_copy() {
+    Char2DArray reference = toChar2DArray(CONTENT);
+    Char2DArray array = Char2DArray.newInstance(3, 4, StorageLayout.ROWS).fillFrom(0, 0, reference);
+
+    assertThat(array.toArray()).isEqualTo(reference.toArray());
+    assertThat(array.copy()).isInstanceOf(RowsChar2DArrayImpl.class).isEqualTo(reference);
+    assertThat(array.copyRegion(1, 1, 2, 2).printToString("", ":")).isEqualTo("ef:hi");
+    assertThat(array.hashCode()).isEqualTo(reference.hashCode());
+  }
+
+  @Test
+  public void fillRegion_fillFrom() {
+    Char2DArray array = Char2DArray.newInstance(3, 4, StorageLayout.ROWS).fill('.');
+
+    array.fillRegion(1, 1, 2, 2, 'x');
+    array.fillFrom(0, 3, toChar2DArray("ab"));
+
+    assertThat(array.printToString("", ":")).isEqualTo("...:.xx:.xx:ab.");
+    assertThat(array.fillFrom(1, 0, array.copyRegion(0, 2, 2, 2)).printToString("", ":")).isEqualTo("..x:.ab:.xx:ab.");
+  }
+
+  @Test
+  public void transformInPlace_flipY() {
+    RowsChar2DArrayImpl array = (RowsChar2DArrayImpl) Char2DArray.newInstance(3, 4, StorageLayout.ROWS)
+        .fillFrom(0, 0, toChar2DArray(CONTENT));
+    char[] first = array.rows[0];
+
+    array.transformInPlace(Transformation.FLIP_Y);
+
+    assertThat(array.printToString("", ":")).isEqualTo("jkl:ghi:def:abc");
+    assertThat(array.rows[3]).isSameAs(first);
+  }
+}
@@ -0,0 +1,129 @@
+/*
+ * The MIT License
+ * Copyright © 2023 Johannes Hampel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.hipphampel.array2dops.model;
+
+import static de.hipphampel.array2dops.model.TestUtils.serializeAndDeserialize;
+import static de.hipphampel.array2dops.model.TestUtils.toChar2DArray;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class SegmentedImplTest {
+
+  private Char2DArray source;
+  private SegmentedChar2DArrayImpl array;
+
+  @BeforeEach
+  public void beforeEach() {
+    source = toChar2DArray("""
+        abcde
+        fghij
+        klmno
+        pqrst
+        uvwxy
+        """);
+    // Two rows per segment
+    array = SegmentedChar2DArrayImpl.allocateDirect(5, 5, 24);
+    array.fillFrom(0, 0, source);
+  }
+
+  @Test
+  public void allocateDirect_distributesRowsOverSegments() {
+    assertThat(array.segments.length).isEqualTo(3);
+    assertThat(array.segments[0].getHeight()).isEqualTo(2);
+    assertThat(array.segments[2].getHeight()).isEqualTo(1);
+    assertThat(array.segments[2].toCharBuffer(false).isDirect()).isTrue();
+  }
+
+  @Test
+  public void allocateDirect_rowTooLarge() {
+    assertThatThrownBy(() -> SegmentedChar2DArrayImpl.allocateDirect(5, 5, 8))
+        .isInstanceOf(ArrayIndexOutOfBoundsException.class)
+        .hasMessage("A row of 10 bytes does not fit into a segment");
+  }
+
+  @Test
+  public void getUnsafe_setUnsafe() {
+    assertThat(array.getUnsafe(3, 2)).isEqualTo('n');
+    assertThat(array.getUnsafe(4, 4)).isEqualTo('y');
+
+    array.setUnsafe(1, 3, 'X');
+    assertThat(array.segments[1].getUnsafe(1, 1)).isEqualTo('X');
+  }
+
+  @Test
+  public void toArray() {
+    assertThat(array.toArray()).isEqualTo(source.getData());
+  }
+
+  @Test
+  public void readRowSpans_acrossSegments() {
+    StringBuilder visited = new StringBuilder();
+    array.readRowSpans(1, 1, 3, 3, (x, y, data, offset, length) ->
+        visited.append(y).append(':').append(data, offset, length).append(' '));
+
+    assertThat(visited.toString()).isEqualTo("1:ghi 2:lmn 3:qrs ");
+  }
+
+  @Test
+  public void fillRegion_acrossSegments() {
+    array.fillRegion(1, 1, 2, 3, '.');
+
+    assertThat(array.printToString("", ":")).isEqualTo("abcde:f..ij:k..no:p..st:uvwxy");
+  }
+
+  @Test
+  public void copy() {
+    Char2DArray copy = array.copy();
+    copy.set(0, 0, 'X');
+
+    assertThat(copy).isInstanceOf(SegmentedChar2DArrayImpl.class);
+    assertThat(((SegmentedChar2DArrayImpl) copy).segments.length).isEqualTo(3);
+    assertThat(copy.printToString("", ":")).isEqualTo("Xbcde:fghij:klmno:pqrst:uvwxy");
+    assertThat(array.get(0, 0)).isEqualTo('a');
+  }
+
+  @Test
+  public void getByteBuffer_severalSegments() {
+    assertThatThrownBy(() -> array.getByteBuffer())
+        .isInstanceOf(UnsupportedOperationException.class)
+        .hasMessage("Not backed by bytes");
+  }
+
+  @Test
+  public void serialize() throws IOException, ClassNotFoundException {
+    Char2DArray copy = serializeAndDeserialize(array);
+
+    assertThat(copy).isInstanceOf(Char2DArrayImpl.class);
+    assertThat(copy).isEqualTo(source);
+  }
+
+  @Test
+  public void equals() {
+    assertThat(array).isEqualTo(source);
+    assertThat(array.hashCode()).isEqualTo(source.hashCode());
+  }
+}
@@ -0,0 +1,191 @@
+/*
+ * The MIT License
+ * Copyright © 2023 Johannes Hampel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.hipphampel.array2dops.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+public class SparseImplTest {
+
+  private static Int2DArray randomSparse(int width, int height, int count, long seed) {
+    Random random = new Random(seed);
+    Int2DArray array = Int2DArray.newSparseInstance(width, height);
+    for (int i = 0; i < count; i++) {
+      array.set(random.nextInt(width), random.nextInt(height), random.nextInt(10));
+    }
+    return array;
+  }
+
+  @Test
+  public void newSparseInstance() {
+    Int2DArray array = Int2DArray.newSparseInstance(4, 3);
+
+    assertThat(array).isInstanceOf(SparseInt2DArrayImpl.class);
+    assertThat(array.isSparse()).isTrue();
+    assertThat(array.getSparseRowPointers()).containsExactly(0, 0, 0, 0);
+    assertThat(array.printToString()).isEqualTo("""
+        0, 0, 0, 0
+        0, 0, 0, 0
+        0, 0, 0, 0""");
+  }
+
+  @Test
+  public void newSparseInstance_triplets() {
+    Int2DArray array = Int2DArray.newSparseInstance(4, 3,
+        new int[]{3, 0, 1, 3, 2, 2},
+        new int[]{2, 0, 2, 2, 1, 1},
+        new int[]{1, 2, 3, 4, 5, -5});
+
+    assertThat(array.printToString()).isEqualTo("""
+        2, 0, 0, 0
+        0, 0, 0, 0
+        0, 3, 0, 5""");
+    assertThat(array.getSparseRowPointers()).containsExactly(0, 1, 1, 3);
+    assertThat(array.getSparseColumnIndices()).startsWith(0, 1, 3);
+    assertThat(array.getSparseValues()).startsWith(2, 3, 5);
+  }
+
+  @Test
+  public void newSparseInstance_fail() {
+    assertThatThrownBy(() -> Int2DArray.newSparseInstance(4, 3, new int[]{1}, new int[]{1, 2}, new int[]{1}))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> Int2DArray.newSparseInstance(4, 3, new int[]{4}, new int[]{1}, new int[]{1}))
+        .isInstanceOf(ArrayIndexOutOfBoundsException.class);
+    assertThatThrownBy(() -> Int2DArray.newSparseInstance(-1, 3))
+        .isInstanceOf(ArrayIndexOutOfBoundsException.class);
+  }
+
+  @Test
+  public void notSparse() {
+    Int2DArray array = Int2DArray.newInstance(2, 2);
+
+    assertThat(array.isSparse()).isFalse();
+    assertThatThrownBy(array::getSparseRowPointers).isInstanceOf(UnsupportedOperationException.class);
+    assertThatThrownBy(array::getSparseColumnIndices).isInstanceOf(UnsupportedOperationException.class);
+    assertThatThrownBy(array::getSparseValues).isInstanceOf(UnsupportedOperationException.class);
+  }
+
+  @Test
+  public void setUnsafe_insertsAndRemoves() {
+    Int2DArray array = Int2DArray.newSparseInstance(3, 3);
+
+    array.set(2, 1, 5);
+    array.set(0, 1, 4);
+    array.set(1, 0, 3);
+    array.set(1, 2, 6);
+    assertThat(array.printToString()).isEqualTo("""
+        0, 3, 0
+        4, 0, 5
+        0, 6, 0""");
+    assertThat(array.getSparseRowPointers()).containsExactly(0, 1, 3, 4);
+
+    array.set(0, 1, 0);
+    array.set(0, 0, 0);
+    assertThat(array.printToString()).isEqualTo("""
+        0, 3, 0
+        0, 0, 5
+        0, 6, 0""");
+    assertThat(array.getSparseRowPointers()).containsExactly(0, 1, 2, 3);
+  }
+
+  @Test
+  public void setUnsafe_keepsNegativeZero() {
+    Double2DArray array = Double2DArray.newSparseInstance(3, 2);
+
+    array.set(1, 0, -0.0);
+    array.set(2, 1, 1.0);
+    assertThat(array.getSparseRowPointers()).containsExactly(0, 1, 2);
+    assertThat(Double.doubleToRawLongBits(array.get(1, 0))).isEqualTo(Double.doubleToRawLongBits(-0.0));
+    assertThat(array.hashCode()).isEqualTo(Double2DArray.newInstance(3, 2).fillFrom(0, 0, array).hashCode());
+
+    array.set(1, 0, 0.0);
+    assertThat(array.getSparseRowPointers()).containsExactly(0, 0, 1);
+  }
+
+  @Test
+  public void fillFrom_sparse() {
+    Int2DArray array = randomSparse(17, 11, 30, 42);
+    Int2DArray source = randomSparse(17, 11, 20, 4711);
+
+    array.fillFrom(0, 0, source);
+
+    assertThat(array).isEqualTo(source);
+    assertThat(array.getSparseRowPointers()).isEqualTo(source.getSparseRowPointers());
+    source.set(0, 0, 100);
+    assertThat(array.get(0, 0)).isNotEqualTo(100);
+  }
+
+  @Test
+  public void matchesDense() {
+    Int2DArray sparse = randomSparse(37, 23, 150, 4711);
+    Int2DArray dense = Int2DArray.newInstance(37, 23).fillFrom(0, 0, sparse);
+
+    assertThat(sparse.toArray()).isEqualTo(dense.toArray());
+    assertThat(sparse).isEqualTo(dense);
+    assertThat(dense).isEqualTo(sparse);
+    assertThat(sparse.hashCode()).isEqualTo(dense.hashCode());
+  }
+
+  @Test
+  public void copy() {
+    Int2DArray array = randomSparse(17, 11, 30, 42);
+
+    Int2DArray copy = array.copy();
+
+    assertThat(copy).isInstanceOf(SparseInt2DArrayImpl.class);
+    assertThat(copy).isEqualTo(array);
+    copy.set(0, 0, 100);
+    assertThat(array.get(0, 0)).isNotEqualTo(100);
+  }
+
+  @Test
+  public void fill() {
+    Int2DArray array = randomSparse(4, 3, 5, 42);
+
+    array.fill(7);
+    assertThat(array.printToString()).isEqualTo("""
+        7, 7, 7, 7
+        7, 7, 7, 7
+        7, 7, 7, 7""");
+    assertThat(array.getSparseRowPointers()).containsExactly(0, 4, 8, 12);
+
+    array.fill(0);
+    assertThat(array.getSparseRowPointers()).containsExactly(0, 0, 0, 0);
+    assertThat(array).isEqualTo(Int2DArray.newInstance(4, 3));
+  }
+
+  @Test
+  public void equals_ignoresStoredZeros() {
+    Int2DArray first = Int2DArray.newSparseInstance(3, 2, new int[]{0, 2}, new int[]{0, 1}, new int[]{1, 2});
+    Int2DArray second = Int2DArray.newSparseInstance(3, 2, new int[]{0, 1, 2}, new int[]{0, 1, 1}, new int[]{1, 9, 2});
+    assertThat(first).isNotEqualTo(second);
+
+    second.getSparseValues()[1] = 0;
+
+    assertThat(first).isEqualTo(second);
+    assertThat(first.hashCode()).isEqualTo(second.hashCode());
+  }
+}
@@ -0,0 +1,137 @@
+/*
+ * The MIT License
+ * Copyright © 2023 Johannes Hampel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.hipphampel.array2dops.model;
+
+import static de.hipphampel.array2dops.model.TestUtils.toChar2DArray;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.hipphampel.array2dops.geom.Point;
+import de.hipphampel.array2dops.geom.Transformation;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+public class StreamsTest {
+
+  private static final String CONTENT = """
+      abcde
+      fghij
+      klmno
+      pqrst
+      """;
+
+  @Test
+  public void intStream_char() {
+    Char2DArray array = toChar2DArray(CONTENT);
+
+    assertThat(toString(array.intStream())).isEqualTo("abcdefghijklmnopqrst");
+    assertThat(toString(array.shallowRegion(1, 1, 3, 2).intStream())).isEqualTo("ghilmn");
+    assertThat(toString(array.shallowTransform(Transformation.TRANSPOSE).intStream())).isEqualTo("afkpbglqchmrdinsejot");
+    assertThat(toString(array.shallowRegion(0, 0, 0, 3).intStream())).isEmpty();
+  }
+
+  @Test
+  public void intStream_parallel() {
+    Int2DArray array = Int2DArray.newInstance(IntStream.range(0, 300 * 200).toArray(), 300, 200);
+
+    assertThat(array.intStream().parallel().toArray()).isEqualTo(array.toArray());
+    assertThat(array.shallowTransform(Transformation.ROTATE_CLOCKWISE_90).intStream().parallel().toArray())
+        .isEqualTo(array.copyTransform(Transformation.ROTATE_CLOCKWISE_90).toArray());
+    assertThat(array.shallowRegion(7, 3, 100, 150).intStream().parallel().asLongStream().sum())
+        .isEqualTo(array.copyRegion(7, 3, 100, 150).intStream().asLongStream().sum());
+  }
+
+  @Test
+  public void longStream_doubleStream() {
+    Long2DArray longs = Long2DArray.newInstance(new long[]{1, 2, 3, 4, 5, 6}, 3, 2);
+    Float2DArray floats = Float2DArray.newInstance(new float[]{1.5f, 2, 3, 4}, 2, 2);
+
+    assertThat(longs.longStream().toArray()).containsExactly(1, 2, 3, 4, 5, 6);
+    assertThat(floats.doubleStream().toArray()).containsExactly(1.5, 2, 3, 4);
+  }
+
+  @Test
+  public void stream_object() {
+    Object2DArray<String> array = Object2DArray.newInstance(new String[]{"a", null, "c", "d"}, 2, 2);
+
+    assertThat(array.stream().collect(Collectors.toList())).containsExactly("a", null, "c", "d");
+    assertThat(array.shallowTransform(Transformation.FLIP_Y).stream().parallel().collect(Collectors.toList()))
+        .containsExactly("c", "d", "a", null);
+  }
+
+  @Test
+  public void spliterator_split() {
+    Char2DArray array = toChar2DArray(CONTENT);
+    Spliterator.OfInt suffix = array.spliterator();
+    assertThat(suffix.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED)).isTrue();
+
+    Spliterator.OfInt prefix = suffix.trySplit();
+    assertThat(prefix.estimateSize()).isEqualTo(10);
+    assertThat(suffix.estimateSize()).isEqualTo(10);
+
+    Spliterator.OfInt row = suffix.trySplit();
+    assertThat(row.estimateSize()).isEqualTo(5);
+    Spliterator.OfInt halfRow = suffix.trySplit();
+    assertThat(halfRow.estimateSize()).isEqualTo(2);
+    assertThat(suffix.estimateSize()).isEqualTo(3);
+
+    StringBuilder buffer = new StringBuilder();
+    assertThat(suffix.tryAdvance((int c) -> buffer.append((char) c))).isTrue();
+    suffix.forEachRemaining((int c) -> buffer.append((char) c));
+    halfRow.forEachRemaining((int c) -> buffer.append((char) c));
+    prefix.forEachRemaining((int c) -> buffer.append((char) c));
+    assertThat(buffer).hasToString("rstpqabcdefghij");
+    assertThat(suffix.tryAdvance((int c) -> buffer.append((char) c))).isFalse();
+  }
+
+  @Test
+  public void spliterator_startWithinRow() {
+    Char2DArray array = toChar2DArray(CONTENT);
+    Spliterator.OfInt spliterator = array.spliterator();
+    StringBuilder buffer = new StringBuilder();
+
+    for (int i = 0; i < 3; i++) {
+      spliterator.tryAdvance((int c) -> buffer.append((char) c));
+    }
+    spliterator.forEachRemaining((int c) -> buffer.append((char) c));
+
+    assertThat(buffer).hasToString("abcdefghijklmnopqrst");
+  }
+
+  @Test
+  public void pointStream() {
+    Boolean2DArray array = Boolean2DArray.newInstance(3, 2);
+    List<Point> points = array.pointStream().toList();
+
+    assertThat(points).containsExactly(
+        new Point(0, 0), new Point(1, 0), new Point(2, 0),
+        new Point(0, 1), new Point(1, 1), new Point(2, 1));
+    assertThat(Int2DArray.newInstance(300, 200).pointStream().parallel().count()).isEqualTo(60000);
+  }
+
+  private static String toString(IntStream stream) {
+    return stream.collect(StringBuilder::new, StringBuilder::appendCodePoint, StringBuilder::append).toString();
+  }
+}
@@ -0,0 +1,174 @@
+/*
+ * The MIT License
+ * Copyright © 2023 Johannes Hampel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.hipphampel.array2dops.model;
+
+import static de.hipphampel.array2dops.model.TestUtils.toChar2DArray;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import de.hipphampel.array2dops.geom.Transformation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+public class StridedImplTest {
+
+  private Char2DArray root;
+
+  @BeforeEach
+  public void beforeEach() {
+    root = toChar2DArray("""
+        abcdefghijk
+        lmnopqrstuv
+        wxyzabcdefg
+        hijklmnopqr
+        stuvwxyzabc
+        """);
+  }
+
+  @Test
+  public void chain_isCollapsed() {
+    Char2DArray view = root.shallowRegion(1, 1, 9, 4)
+        .shallowTransform(Transformation.ROTATE_CLOCKWISE_90)
+        .shallowRegion(1, 2, 3, 4)
+        .toReadOnly();
+
+    assertThat(view).isInstanceOf(StridedChar2DArrayImpl.class);
+    StridedChar2DArrayImpl strided = (StridedChar2DArrayImpl) view;
+    assertThat(strided.base).isSameAs(root);
+    assertThat(strided.readOnly).isTrue();
+    assertThat(strided.xStride).isEqualTo(-11);
+    assertThat(strided.yStride).isEqualTo(1);
+    Char2DArray reference = new SubChar2DArrayImpl(
+        new TransformChar2DArrayImpl(new SubChar2DArrayImpl(root, 1, 1, 9, 4), Transformation.ROTATE_CLOCKWISE_90),
+        1, 2, 3, 4);
+    assertThat(view).isEqualTo(reference);
+    assertThat(view.printToString("", ":")).isEqualTo("kzo:lap:mbq:ncr");
+  }
+
+  @ParameterizedTest
+  @EnumSource(Transformation.class)
+  public void shallowTransform_matchesTransformView(Transformation transformation) {
+    Char2DArray region = root.shallowRegion(2, 1, 7, 3);
+    Char2DArray reference = new TransformChar2DArrayImpl(new SubChar2DArrayImpl(root, 2, 1, 7, 3), transformation);
+
+    Char2DArray view = region.shallowTransform(transformation);
+
+    assertThat(view.getWidth()).isEqualTo(reference.getWidth());
+    assertThat(view.getHeight()).isEqualTo(reference.getHeight());
+    assertThat(view.toArray()).isEqualTo(reference.toArray());
+    assertThat(view).isEqualTo(reference);
+  }
+
+  @Test
+  public void shallowTransform_inverse() {
+    Char2DArray view = root.shallowTransform(Transformation.ROTATE_CLOCKWISE_90);
+
+    assertThat(view.shallowTransform(Transformation.ROTATE_CLOCKWISE_270)).isSameAs(root);
+    assertThat(view.toReadOnly().shallowTransform(Transformation.ROTATE_CLOCKWISE_270))
+        .isInstanceOf(ReadOnlyChar2DArrayImpl.class)
+        .isEqualTo(root);
+  }
+
+  @Test
+  public void readOnly() {
+    Char2DArray view = root.toReadOnly().shallowRegion(1, 1, 2, 2);
+
+    assertThat(view.isReadOnly()).isTrue();
+    assertThat(view.toReadOnly()).isSameAs(view);
+    assertThatThrownBy(() -> view.set(0, 0, 'x')).isInstanceOf(UnsupportedOperationException.class);
+    assertThatThrownBy(() -> view.fill('x')).isInstanceOf(UnsupportedOperationException.class);
+    assertThatThrownBy(() -> view.fillFrom(0, 0, root.copyRegion(0, 0, 1, 1)))
+        .isInstanceOf(UnsupportedOperationException.class);
+    assertThat(root.shallowRegion(1, 1, 2, 2).toReadOnly().isReadOnly()).isTrue();
+  }
+
+  @Test
+  public void fillRegion() {
+    Char2DArray view = root.shallowTransform(Transformation.FLIP_X).shallowRegion(1, 1, 4, 3);
+
+    view.fillRegion(1, 0, 3, 2, '.');
+    root.shallowTransform(Transformation.TRANSPOSE).fillRegion(4, 0, 1, 5, '#');
+
+    assertThat(root.printToString("", ":")).isEqualTo("abcdefghijk:lmnopq...uv:wxyzab...fg:hijklmnopqr:#####xyzabc");
+  }
+
+  @Test
+  public void fillRegion_fail() {
+    Char2DArray view = root.shallowRegion(1, 1, 4, 3);
+
+    assertThatThrownBy(() -> view.fillRegion(1, 1, 4, 1, 'x')).isInstanceOf(ArrayIndexOutOfBoundsException.class);
+  }
+
+  @Test
+  public void fillFrom_overlapping() {
+    Char2DArray source = root.shallowRegion(0, 0, 4, 2);
+    Char2DArray target = root.shallowRegion(1, 1, 4, 2);
+
+    target.fillFrom(0, 0, source);
+
+    assertThat(root.printToString("", ":")).isEqualTo("abcdefghijk:labcdqrstuv:wlmnobcdefg:hijklmnopqr:stuvwxyzabc");
+  }
+
+  @Test
+  public void fillFrom_transformed() {
+    Char2DArray target = Char2DArray.newInstance(5, 2).fill('.');
+
+    target.fillFrom(1, 0, root.shallowRegion(0, 0, 2, 3).shallowTransform(Transformation.TRANSPOSE));
+    target.shallowRegion(0, 0, 2, 2).fillFrom(0, 0, root.copyRegion(9, 0, 2, 2));
+
+    assertThat(target.printToString("", ":")).isEqualTo("jklw.:uvmx.");
+  }
+
+  @Test
+  public void copy() {
+    Char2DArray view = root.shallowRegion(2, 1, 3, 2).shallowTransform(Transformation.FLIP_Y);
+
+    Char2DArray copy = view.copy();
+
+    assertThat(copy).isInstanceOf(Char2DArrayImpl.class);
+    assertThat(copy.printToString("", ":")).isEqualTo("yza:nop");
+    assertThat(copy.hashCode()).isEqualTo(view.hashCode());
+  }
+
+  @ParameterizedTest
+  @EnumSource(Transformation.class)
+  public void copyTransform_blocked(Transformation transformation) {
+    int width = StridedChar2DArrayImpl.BLOCK_SIZE * 2 + 5;
+    int height = StridedChar2DArrayImpl.BLOCK_SIZE + 7;
+    Char2DArray array = Char2DArray.newInstance(width, height);
+    for (int x = 0; x < width; x++) {
+      for (int y = 0; y < height; y++) {
+        array.setUnsafe(x, y, (char) (x * 131 + y));
+      }
+    }
+
+    Char2DArray copy = array.copyTransform(transformation);
+
+    assertThat(copy).isInstanceOf(Char2DArrayImpl.class);
+    assertThat(copy).isEqualTo(new TransformChar2DArrayImpl(array, transformation));
+    assertThat(array.shallowRegion(3, 2, width - 4, height - 3).copyTransform(transformation))
+        .isEqualTo(new TransformChar2DArrayImpl(array.copyRegion(3, 2, width - 4, height - 3), transformation));
+  }
+}
@@ -77,23 +77,28 @@ public class SubImplTest {
         """);
   }
 
+  private Char2DArray region() {
+    // Created directly, since shallowRegion on an owning array returns a strided view
+    return new SubChar2DArrayImpl(root, 2, 1, 11, 5);
+  }
+
   @Test
   public void isArrayOwner() {
-    Char2DArray array = root.shallowRegion(2, 1, 11, 5);
+    Char2DArray array = region();
 
     assertThat(array.isArrayOwner()).isFalse();
   }
 
   @Test
   public void getData() {
-    Char2DArray array = root.shallowRegion(2, 1, 11, 5);
+    Char2DArray array = region();
 
     assertThatThrownBy(array::getData).isInstanceOf(UnsupportedOperationException.class);
   }
 
   @Test
   public void toArray_base_ImplArray() {
-    Char2DArray array = root.shallowRegion(2, 1, 11, 5);
+    Char2DArray array = region();
 
     assertThat(array.toArray())
         .isEqualTo(new char[]{
@@ -107,7 +112,7 @@ public class SubImplTest {
 
   @Test
   public void toArray_base_ReadOnlyArray() {
-    Char2DArray array = root.shallowRegion(2, 1, 11, 5);
+    Char2DArray array = region();
 
     assertThat(array.toArray())
         .isEqualTo(new char[]{
@@ -137,14 +142,14 @@ public class SubImplTest {
 
   @Test
   public void getWidth() {
-    Char2DArray array = root.shallowRegion(2, 1, 11, 5);
+    Char2DArray array = region();
 
     assertThat(array.getWidth()).isEqualTo(11);
   }
 
   @Test
   public void getHeight() {
-    Char2DArray array = root.shallowRegion(2, 1, 11, 5);
+    Char2DArray array = region();
 
     assertThat(array.getHeight()).isEqualTo(5);
   }
@@ -158,7 +163,7 @@ public class SubImplTest {
       "11,  5, false",
   })
   public void isCoordinateInArray(int x, int y, boolean expected) {
-    Char2DArray array = root.shallowRegion(2, 1, 11, 5);
+    Char2DArray array = region();
 
     assertThat(array.isCoordinateInArray(x, y)).isEqualTo(expected);
   }
@@ -171,7 +176,7 @@ public class SubImplTest {
       " 0,  0, 12,  6, false",
   })
   public void isRegionInArray(int x, int y, int width, int height, boolean expected) {
-    Char2DArray array = root.shallowRegion(2, 1, 11, 5);
+    Char2DArray array = region();
 
     assertThat(array.isRegionInArray(x, y, width, height)).isEqualTo(expected);
   }
@@ -183,7 +188,7 @@ public class SubImplTest {
       "5,  2, b"
   })
   public void get_ok(int x, int y, char expected) {
-    Char2DArray array = root.shallowRegion(2, 1, 11, 5);
+    Char2DArray array = region();
 
     assertThat(array.get(x, y)).isEqualTo(expected);
   }
@@ -196,7 +201,7 @@ public class SubImplTest {
       " 1,  5",
   })
   public void get_fail(int x, int y) {
-    Char2DArray array = root.shallowRegion(2, 1, 11, 5);
+    Char2DArray array = region();
 
     assertThatThrownBy(() -> array.get(x, y)).isInstanceOf(ArrayIndexOutOfBoundsException.class);
   }
@@ -208,7 +213,7 @@ public class SubImplTest {
       "15, 0, .", // Unsafe
   })
   public void getUnsafe_ok(int x, int y, char expected) {
-    Char2DArray array = root.shallowRegion(2, 1, 11, 5);
+    Char2DArray array = region();
 
     assertThat(array.getUnsafe(x, y)).isEqualTo(expected);
   }
@@ -220,7 +225,7 @@ public class SubImplTest {
       "1, 0"
   })
   public void set_ok(int x, int y) {
-    Char2DArray array = root.shallowRegion(2, 1, 11, 5);
+    Char2DArray array = region();
 
     assertThat(array.set(x, y, 'x').get(x, y)).isEqualTo('x');
   }
@@ -233,7 +238,7 @@ public class SubImplTest {
       " 1,  5",
   })
   public void set_fail(int x, int y) {
-    Char2DArray array = root.shallowRegion(2, 1, 11, 5);
+    Char2DArray array = region();
 
     assertThatThrownBy(() -> array.set(x, y, 'x')).isInstanceOf(
         ArrayIndexOutOfBoundsException.class);
@@ -248,7 +253,7 @@ public class SubImplTest {
       " 1,  5",
   })
   public void setUnsafe_ok(int x, int y) {
-    Char2DArray array = root.shallowRegion(2, 1, 11, 5);
+    Char2DArray array = region();
 
     array.setUnsafe(x, y, 'x');
     assertThat(array.getUnsafe(x, y)).isEqualTo('x');
@@ -256,21 +261,21 @@ public class SubImplTest {
 
   @Test
   public void isReadOnly() {
-    Char2DArray array = root.shallowRegion(2, 1, 11, 5);
+    Char2DArray array = region();
 
     assertThat(array.isReadOnly()).isFalse();
   }
 
   @Test
   public void toReadOnly() {
-    Char2DArray array = root.shallowRegion(2, 1, 11, 5);
+    Char2DArray array = region();
 
     assertThat(array.toReadOnly()).isInstanceOf(ReadOnlyChar2DArrayImpl.class);
   }
 
   @Test
   public void copy() {
-    Char2DArray array = root.shallowRegion(2, 1, 11, 5);
+    Char2DArray array = region();
 
     Char2DArray copy = array.copy();
     assertThat(copy).isInstanceOf(Char2DArrayImpl.class)
@@ -281,14 +286,14 @@ public class SubImplTest {
 
   @Test
   public void shallowRegion_sameSize() {
-    Char2DArray array = root.shallowRegion(2, 1, 11, 5);
+    Char2DArray array = region();
 
     assertThat(array.shallowRegion(0, 0, array.getWidth(), array.getHeight())).isSameAs(array);
   }
 
   @Test
   public void shallowRegion_smallerSize() {
-    Char2DArray array = root.shallowRegion(2, 1, 11, 5);
+    Char2DArray array = region();
 
     Char2DArray region = array.shallowRegion(3, 2, 3, 2);
     assertThat(region).isInstanceOf(SubChar2DArrayImpl.class);
@@ -304,7 +309,7 @@ public class SubImplTest {
 
   @Test
   public void shallowRegion_illegal() {
-    Char2DArray array = root.shallowRegion(2, 1, 11, 5);
+    Char2DArray array = region();
 
     assertThatThrownBy(() -> array.shallowRegion(-1, -1, 0, 0)).isInstanceOf(
         ArrayIndexOutOfBoundsException.class);
@@ -312,7 +317,7 @@ public class SubImplTest {
 
   @Test
   public void copyRegion() {
-    Char2DArray array = root.shallowRegion(2, 1, 11, 5);
+    Char2DArray array = region();
 
     Char2DArray region = array.copyRegion(3, 2, 3, 2);
     assertThat(region).isInstanceOf(Char2DArrayImpl.class);
@@ -325,7 +330,7 @@ public class SubImplTest {
 
   @Test
   public void copyRegion_illegal() {
-    Char2DArray array = root.shallowRegion(2, 1, 11, 5);
+    Char2DArray array = region();
 
     assertThatThrownBy(() -> array.copyRegion(-1, -1, 0, 0)).isInstanceOf(
         ArrayIndexOutOfBoundsException.class);
@@ -333,7 +338,7 @@ public class SubImplTest {
 
   @Test
   public void shallowTransform_identity() {
-    Char2DArray array = root.shallowRegion(2, 1, 11, 5);
+    Char2DArray array = region();
 
     Char2DArray transformed = array.shallowTransform(Transformation.IDENTITY);
     assertThat(transformed).isSameAs(array);
@@ -341,7 +346,7 @@ public class SubImplTest {
 
   @Test
   public void shallowTransform_valid() {
-    Char2DArray array = root.shallowRegion(2, 1, 11, 5);
+    Char2DArray array = region();
 
     Char2DArray transformed = array.shallowTransform(Transformation.FLIP_Y);
     assertThat(transformed).isInstanceOf(TransformChar2DArrayImpl.class);
@@ -353,7 +358,7 @@ public class SubImplTest {
 
   @Test
   public void copyTransform_valid() {
-    Char2DArray array = root.shallowRegion(2, 1, 11, 5);
+    Char2DArray array = region();
 
     Char2DArray transformed = array.copyTransform(Transformation.FLIP_Y);
     assertThat(transformed).isInstanceOf(Char2DArrayImpl.class);
@@ -0,0 +1,252 @@
+/*
+ * The MIT License
+ * Copyright © 2023 Johannes Hampel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.hipphampel.array2dops.model;
+
+import static de.hipphampel.array2dops.model.TestUtils.serializeAndDeserialize;
+import static de.hipphampel.array2dops.model.TestUtils.toChar2DArray;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import de.hipphampel.array2dops.geom.Transformation;
+import java.io.IOException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+public class TiledImplTest {
+
+  private Int2DArray reference;
+  private Int2DArray array;
+
+  @BeforeEach
+  public void beforeEach() {
+    // Spans 3x2 tiles, the last ones only partially used
+    reference = Int2DArray.newInstance(150, 70);
+    for (int y = 0; y < reference.getHeight(); y++) {
+      for (int x = 0; x < reference.getWidth(); x++) {
+        reference.setUnsafe(x, y, x + 1000 * y);
+      }
+    }
+    array = Int2DArray.newInstance(150, 70, StorageLayout.TILED).fillFrom(0, 0, reference);
+  }
+
+  @Test
+  public void newInstance_layout() {
+    assertThat(Char2DArray.newInstance(3, 2, StorageLayout.TILED)).isInstanceOf(TiledChar2DArrayImpl.class);
+    assertThat(Char2DArray.newInstance(3, 2, StorageLayout.ROW_MAJOR)).isInstanceOf(Char2DArrayImpl.class);
+  }
+
+  @Test
+  public void getUnsafe_setUnsafe() {
+    TiledChar2DArrayImpl tiled = new TiledChar2DArrayImpl(100, 100);
+
+    tiled.setUnsafe(65, 2, 'x');
+
+    assertThat(tiled.getUnsafe(65, 2)).isEqualTo('x');
+    assertThat(tiled.tiles[1][2 * 64 + 1]).isEqualTo('x');
+  }
+
+  @Test
+  public void toArray() {
+    assertThat(array.toArray()).isEqualTo(reference.toArray());
+    assertThat(array).isEqualTo(reference);
+  }
+
+  @Test
+  public void copy() {
+    Int2DArray copy = array.copy();
+    copy.set(0, 0, -1);
+
+    assertThat(copy).isInstanceOf(TiledInt2DArrayImpl.class);
+    assertThat(array).isEqualTo(reference);
+  }
+
+  @Test
+  public void copyRegion() {
+    Int2DArray region = array.copyRegion(60, 10, 80, 60);
+
+    assertThat(region).isInstanceOf(TiledInt2DArrayImpl.class)
+        .isEqualTo(reference.copyRegion(60, 10, 80, 60));
+  }
+
+  @Test
+  public void shallowRegion_toArray() {
+    assertThat(array.shallowRegion(60, 10, 80, 60).toArray())
+        .isEqualTo(reference.shallowRegion(60, 10, 80, 60).toArray());
+  }
+
+  @ParameterizedTest
+  @EnumSource(Transformation.class)
+  public void copyTransform(Transformation transformation) {
+    Int2DArray transformed = array.copyTransform(transformation);
+
+    assertThat(transformed).isInstanceOf(TiledInt2DArrayImpl.class)
+        .isEqualTo(reference.copyTransform(transformation));
+  }
+
+  @Test
+  public void fill() {
+    array.fill(7);
+
+    assertThat(array.toArray()).containsOnly(7);
+  }
+
+  @Test
+  public void fillRegion() {
+    array.fillRegion(10, 60, 130, 5, -1);
+    reference.fillRegion(10, 60, 130, 5, -1);
+
+    assertThat(array).isEqualTo(reference);
+  }
+
+  @Test
+  public void fillRegion_small() {
+    Char2DArray tiled = Char2DArray.newInstance(10, 6, StorageLayout.TILED).fill('.');
+
+    tiled.fillRegion(1, 2, 3, 4, 'A');
+
+    assertThat(tiled.printToString("", "\n")).isEqualTo("""
+        ..........
+        ..........
+        .AAA......
+        .AAA......
+        .AAA......
+        .AAA......""");
+  }
+
+  @Test
+  public void fillRegion_failed() {
+    assertThatThrownBy(() -> array.fillRegion(100, 0, 60, 1, 0))
+        .isInstanceOf(ArrayIndexOutOfBoundsException.class);
+  }
+
+  @Test
+  public void fillFrom() {
+    Char2DArray tiled = Char2DArray.newInstance(6, 4, StorageLayout.TILED).fill('.');
+
+    tiled.fillFrom(1, 1, toChar2DArray("""
+        abc
+        def"""));
+
+    assertThat(tiled.printToString("", "\n")).isEqualTo("""
+        ......
+        .abc..
+        .def..
+        ......""");
+  }
+
+  @Test
+  public void fillFrom_tiled() {
+    Int2DArray target = Int2DArray.newInstance(200, 100, StorageLayout.TILED);
+
+    target.fillFrom(30, 20, array);
+
+    assertThat(target.shallowRegion(30, 20, 150, 70)).isEqualTo(reference);
+  }
+
+  @Test
+  public void snapshot_sharesTiles() {
+    TiledInt2DArrayImpl tiled = (TiledInt2DArrayImpl) array;
+
+    TiledInt2DArrayImpl snapshot = (TiledInt2DArrayImpl) array.snapshot();
+
+    assertThat(snapshot).isEqualTo(reference);
+    assertThat(snapshot.tiles).isSameAs(tiled.tiles);
+  }
+
+  @Test
+  public void snapshot_copiesTouchedTilesOnly() {
+    TiledInt2DArrayImpl tiled = (TiledInt2DArrayImpl) array;
+    int[][] original = tiled.tiles;
+    TiledInt2DArrayImpl snapshot = (TiledInt2DArrayImpl) array.snapshot();
+
+    snapshot.setUnsafe(70, 1, -1);
+    array.setUnsafe(0, 0, -2);
+    array.setUnsafe(1, 0, -3);
+
+    assertThat(snapshot.getUnsafe(70, 1)).isEqualTo(-1);
+    assertThat(snapshot.getUnsafe(0, 0)).isEqualTo(0);
+    assertThat(array.getUnsafe(70, 1)).isEqualTo(reference.getUnsafe(70, 1));
+    assertThat(array.getUnsafe(0, 0)).isEqualTo(-2);
+    assertThat(snapshot.tiles[1]).isNotSameAs(original[1]);
+    assertThat(snapshot.tiles[0]).isSameAs(original[0]);
+    assertThat(tiled.tiles[0]).isNotSameAs(original[0]);
+    assertThat(tiled.tiles[1]).isSameAs(original[1]);
+    assertThat(tiled.tiles[2]).isSameAs(snapshot.tiles[2]);
+  }
+
+  @Test
+  public void snapshot_bulkOperations() {
+    Int2DArray snapshot = array.snapshot();
+    Int2DArray second = snapshot.snapshot();
+
+    array.fill(1);
+    snapshot.fillRegion(0, 0, 100, 10, 2);
+
+    assertThat(array).isEqualTo(Int2DArray.newInstance(150, 70).fill(1));
+    assertThat(snapshot).isEqualTo(reference.copy().fillRegion(0, 0, 100, 10, 2));
+    assertThat(second).isEqualTo(reference);
+
+    second.fillFrom(0, 0, Int2DArray.newInstance(10, 10));
+    assertThat(snapshot.get(5, 20)).isEqualTo(reference.get(5, 20));
+    assertThat(second.get(5, 5)).isEqualTo(0);
+  }
+
+  @Test
+  public void snapshot_readOnly() {
+    Int2DArray readOnly = array.toReadOnly();
+
+    Int2DArray snapshot = readOnly.snapshot();
+    array.setUnsafe(0, 0, -1);
+
+    assertThat(snapshot.isReadOnly()).isTrue();
+    assertThat(snapshot.getUnsafe(0, 0)).isEqualTo(0);
+    assertThat(readOnly.getUnsafe(0, 0)).isEqualTo(-1);
+  }
+
+  @Test
+  public void serialize() throws IOException, ClassNotFoundException {
+    Int2DArray copy = serializeAndDeserialize(array);
+
+    assertThat(copy).isInstanceOf(TiledInt2DArrayImpl.class);
+    assertThat(copy).isEqualTo(reference);
+    copy.setUnsafe(0, 0, -1);
+    assertThat(array.getUnsafe(0, 0)).isEqualTo(0);
+  }
+
+  @Test
+  public void serialize_withSnapshot() throws IOException, ClassNotFoundException {
+    Int2DArray snapshot = array.snapshot();
+
+    Int2DArray[] copies = serializeAndDeserialize(new Int2DArray[]{array, snapshot});
+    copies[0].setUnsafe(0, 0, -1);
+    copies[1].setUnsafe(70, 1, -2);
+
+    assertThat(copies[0].getUnsafe(0, 0)).isEqualTo(-1);
+    assertThat(copies[1].getUnsafe(0, 0)).isEqualTo(0);
+    assertThat(copies[1].getUnsafe(70, 1)).isEqualTo(-2);
+    assertThat(copies[0].getUnsafe(70, 1)).isEqualTo(reference.getUnsafe(70, 1));
+    assertThat(((TiledInt2DArrayImpl) copies[1]).tiles[2]).isSameAs(((TiledInt2DArrayImpl) copies[0]).tiles[2]);
+  }
+}
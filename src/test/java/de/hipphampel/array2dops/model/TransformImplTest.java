@@ -73,23 +73,28 @@ public class TransformImplTest {
         """);
   }
 
+  private Char2DArray transform(Transformation transformation) {
+    // Created directly, since shallowTransform on an owning array returns a strided view
+    return transformation == Transformation.IDENTITY ? root : new TransformChar2DArrayImpl(root, transformation);
+  }
+
   @Test
   public void isArrayOwner() {
-    Char2DArray array = root.shallowTransform(Transformation.FLIP_Y);
+    Char2DArray array = transform(Transformation.FLIP_Y);
 
     assertThat(array.isArrayOwner()).isFalse();
   }
 
   @Test
   public void getData() {
-    Char2DArray array = root.shallowTransform(Transformation.FLIP_Y);
+    Char2DArray array = transform(Transformation.FLIP_Y);
 
     assertThatThrownBy(array::getData).isInstanceOf(UnsupportedOperationException.class);
   }
 
   @Test
   public void toArray() {
-    Char2DArray array = root.shallowTransform(Transformation.FLIP_Y);
+    Char2DArray array = transform(Transformation.FLIP_Y);
 
     assertThat(array.toArray())
         .isEqualTo(new char[]{
@@ -103,14 +108,14 @@ public class TransformImplTest {
 
   @Test
   public void getWidth() {
-    Char2DArray array = root.shallowTransform(Transformation.FLIP_Y);
+    Char2DArray array = transform(Transformation.FLIP_Y);
 
     assertThat(array.getWidth()).isEqualTo(11);
   }
 
   @Test
   public void getHeight() {
-    Char2DArray array = root.shallowTransform(Transformation.FLIP_Y);
+    Char2DArray array = transform(Transformation.FLIP_Y);
 
     assertThat(array.getHeight()).isEqualTo(5);
   }
@@ -124,7 +129,7 @@ public class TransformImplTest {
       "11,  5, false",
   })
   public void isCoordinateInArray(int x, int y, boolean expected) {
-    Char2DArray array = root.shallowTransform(Transformation.FLIP_Y);
+    Char2DArray array = transform(Transformation.FLIP_Y);
 
     assertThat(array.isCoordinateInArray(x, y)).isEqualTo(expected);
   }
@@ -137,7 +142,7 @@ public class TransformImplTest {
       " 0,  0, 12,  6, false",
   })
   public void isRegionInArray(int x, int y, int width, int height, boolean expected) {
-    Char2DArray array = root.shallowTransform(Transformation.FLIP_Y);
+    Char2DArray array = transform(Transformation.FLIP_Y);
 
     assertThat(array.isRegionInArray(x, y, width, height)).isEqualTo(expected);
   }
@@ -155,7 +160,7 @@ public class TransformImplTest {
     // tixmb
     // ujync
     // ...
-    Char2DArray array = root.shallowTransform(Transformation.ROTATE_CLOCKWISE_90);
+    Char2DArray array = transform(Transformation.ROTATE_CLOCKWISE_90);
 
     assertThat(array.get(x, y)).isEqualTo(expected);
   }
@@ -168,7 +173,7 @@ public class TransformImplTest {
       " 1,  5",
   })
   public void get_fail(int x, int y) {
-    Char2DArray array = root.shallowTransform(Transformation.FLIP_X);
+    Char2DArray array = transform(Transformation.FLIP_X);
 
     assertThatThrownBy(() -> array.get(x, y)).isInstanceOf(ArrayIndexOutOfBoundsException.class);
   }
@@ -180,7 +185,7 @@ public class TransformImplTest {
       "11, 5, c", // Unsafe
   })
   public void getUnsafe_ok(int x, int y, char expected) {
-    Char2DArray array = root.shallowTransform(Transformation.FLIP_X);
+    Char2DArray array = transform(Transformation.FLIP_X);
 
     assertThat(array.getUnsafe(x, y)).isEqualTo(expected);
   }
@@ -192,7 +197,7 @@ public class TransformImplTest {
       "1, 0"
   })
   public void set_ok(int x, int y) {
-    Char2DArray array = root.shallowTransform(Transformation.FLIP_X);
+    Char2DArray array = transform(Transformation.FLIP_X);
 
     assertThat(array.set(x, y, 'x').get(x, y)).isEqualTo('x');
   }
@@ -205,7 +210,7 @@ public class TransformImplTest {
       " 1,  5",
   })
   public void set_fail(int x, int y) {
-    Char2DArray array = root.shallowTransform(Transformation.FLIP_X);
+    Char2DArray array = transform(Transformation.FLIP_X);
 
     assertThatThrownBy(() -> array.set(x, y, 'x')).isInstanceOf(
         ArrayIndexOutOfBoundsException.class);
@@ -228,21 +233,21 @@ public class TransformImplTest {
 
   @Test
   public void isReadOnly() {
-    Char2DArray array = root.shallowTransform(Transformation.FLIP_TRANSPOSE);
+    Char2DArray array = transform(Transformation.FLIP_TRANSPOSE);
 
     assertThat(array.isReadOnly()).isFalse();
   }
 
   @Test
   public void toReadOnly() {
-    Char2DArray array = root.shallowTransform(Transformation.FLIP_TRANSPOSE);
+    Char2DArray array = transform(Transformation.FLIP_TRANSPOSE);
 
     assertThat(array.toReadOnly()).isInstanceOf(ReadOnlyChar2DArrayImpl.class);
   }
 
   @Test
   public void copy() {
-    Char2DArray array = root.shallowTransform(Transformation.IDENTITY);
+    Char2DArray array = transform(Transformation.IDENTITY);
 
     Char2DArray copy = array.copy();
     assertThat(copy).isInstanceOf(Char2DArrayImpl.class)
@@ -254,14 +259,14 @@ public class TransformImplTest {
 
   @Test
   public void shallowRegion_sameSize() {
-    Char2DArray array = root.shallowTransform(Transformation.ROTATE_CLOCKWISE_90);
+    Char2DArray array = transform(Transformation.ROTATE_CLOCKWISE_90);
 
     assertThat(array.shallowRegion(0, 0, array.getWidth(), array.getHeight())).isSameAs(array);
   }
 
   @Test
   public void shallowRegion_smallerSize() {
-    Char2DArray array = root.shallowTransform(Transformation.ROTATE_CLOCKWISE_90);
+    Char2DArray array = transform(Transformation.ROTATE_CLOCKWISE_90);
 
     Char2DArray region = array.shallowRegion(2, 1, 3, 2);
     assertThat(region).isInstanceOf(SubChar2DArrayImpl.class);
@@ -273,7 +278,7 @@ public class TransformImplTest {
 
   @Test
   public void shallowRegion_illegal() {
-    Char2DArray array = root.shallowTransform(Transformation.ROTATE_CLOCKWISE_90);
+    Char2DArray array = transform(Transformation.ROTATE_CLOCKWISE_90);
 
     assertThatThrownBy(() -> array.shallowRegion(-1, -1, 0, 0)).isInstanceOf(
         ArrayIndexOutOfBoundsException.class);
@@ -281,7 +286,7 @@ public class TransformImplTest {
 
   @Test
   public void copyRegion() {
-    Char2DArray array = root.shallowTransform(Transformation.ROTATE_CLOCKWISE_90);
+    Char2DArray array = transform(Transformation.ROTATE_CLOCKWISE_90);
 
     Char2DArray region = array.copyRegion(2, 1, 3, 2);
     assertThat(region).isInstanceOf(Char2DArrayImpl.class);
@@ -293,7 +298,7 @@ public class TransformImplTest {
 
   @Test
   public void copyRegion_illegal() {
-    Char2DArray array = root.shallowTransform(Transformation.ROTATE_CLOCKWISE_90);
+    Char2DArray array = transform(Transformation.ROTATE_CLOCKWISE_90);
 
     assertThatThrownBy(() -> array.copyRegion(-1, -1, 0, 0)).isInstanceOf(
         ArrayIndexOutOfBoundsException.class);
@@ -301,7 +306,7 @@ public class TransformImplTest {
 
   @Test
   public void shallowTransform_identity() {
-    Char2DArray array = root.shallowTransform(Transformation.ROTATE_CLOCKWISE_90);
+    Char2DArray array = transform(Transformation.ROTATE_CLOCKWISE_90);
 
     Char2DArray transformed = array.shallowTransform(Transformation.IDENTITY);
     assertThat(transformed).isSameAs(array);
@@ -309,7 +314,7 @@ public class TransformImplTest {
 
   @Test
   public void shallowTransform_inverse() {
-    Char2DArray array = root.shallowTransform(Transformation.ROTATE_CLOCKWISE_90);
+    Char2DArray array = transform(Transformation.ROTATE_CLOCKWISE_90);
 
     Char2DArray transformed = array.shallowTransform(Transformation.ROTATE_CLOCKWISE_270);
     assertThat(transformed).isSameAs(root);
@@ -317,7 +322,7 @@ public class TransformImplTest {
 
   @Test
   public void shallowTransform_valid() {
-    Char2DArray array = root.shallowTransform(Transformation.ROTATE_CLOCKWISE_90);
+    Char2DArray array = transform(Transformation.ROTATE_CLOCKWISE_90);
 
     Char2DArray transformed = array.shallowTransform(Transformation.ROTATE_CLOCKWISE_90);
     assertThat(transformed).isInstanceOf(TransformChar2DArrayImpl.class);
@@ -329,7 +334,7 @@ public class TransformImplTest {
 
   @Test
   public void copyTransform_valid() {
-    Char2DArray array = root.shallowTransform(Transformation.ROTATE_CLOCKWISE_90);
+    Char2DArray array = transform(Transformation.ROTATE_CLOCKWISE_90);
 
     Char2DArray transformed = array.copyTransform(Transformation.FLIP_Y);
     assertThat(transformed).isInstanceOf(Char2DArrayImpl.class);
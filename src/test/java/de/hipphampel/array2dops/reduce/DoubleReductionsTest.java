@@ -0,0 +1,135 @@
+/*
+ * The MIT License
+ * Copyright © 2023 Johannes Hampel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.hipphampel.array2dops.reduce;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.hipphampel.array2dops.geom.Point;
+import de.hipphampel.array2dops.geom.Transformation;
+import de.hipphampel.array2dops.model.Double2DArray;
+import de.hipphampel.array2dops.model.Float2DArray;
+import de.hipphampel.array2dops.model.ParallelExecution;
+import de.hipphampel.array2dops.model.StorageLayout;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Test;
+
+public class DoubleReductionsTest {
+
+  @Test
+  public void sum_mean_variance() {
+    Double2DArray array = Double2DArray.newInstance(new double[]{2, 4, 4, 4, 5, 5, 7, 9}, 2, 4);
+
+    assertThat(DoubleReductions.sum(array)).isEqualTo(40.0);
+    assertThat(DoubleReductions.mean(array)).isEqualTo(5.0);
+    assertThat(DoubleReductions.variance(array)).isEqualTo(4.0);
+  }
+
+  @Test
+  public void sum_float() {
+    Float2DArray array = Float2DArray.newInstance(new float[]{1e8f, 1, 1, 1}, 2, 2);
+
+    assertThat(FloatReductions.sum(array)).isEqualTo(1e8 + 3);
+  }
+
+  @Test
+  public void minMax_nan() {
+    Double2DArray array = Double2DArray.newInstance(new double[]{1, -3, Double.NaN, 5, Double.NaN, 0}, 3, 2);
+
+    assertThat(DoubleReductions.min(array)).isNaN();
+    assertThat(DoubleReductions.max(array)).isNaN();
+    assertThat(DoubleReductions.argMin(array)).isEqualTo(new Point(2, 0));
+    assertThat(DoubleReductions.argMax(array)).isEqualTo(new Point(2, 0));
+    assertThat(DoubleReductions.count(array, Double.NaN)).isZero();
+  }
+
+  @Test
+  public void minMax_signedZero_independentOfLayout() {
+    // 65 columns span two tiles, so the row of the tiled array consists of two spans
+    Double2DArray array = Double2DArray.newInstance(65, 1).fill(1);
+    array.set(0, 0, 0.0);
+    array.set(64, 0, -0.0);
+    Double2DArray tiled = Double2DArray.newInstance(65, 1, StorageLayout.TILED).fillFrom(0, 0, array);
+
+    for (Double2DArray a : new Double2DArray[]{array, tiled}) {
+      assertThat(Double.doubleToRawLongBits(DoubleReductions.min(a))).isEqualTo(Double.doubleToRawLongBits(-0.0));
+      assertThat(Double.doubleToRawLongBits(DoubleReductions.max(a))).isEqualTo(Double.doubleToRawLongBits(1.0));
+      assertThat(DoubleReductions.argMin(a)).isEqualTo(new Point(0, 0));
+    }
+    array.fill(-1).set(0, 0, -0.0).set(64, 0, 0.0);
+    tiled.fillFrom(0, 0, array);
+    assertThat(Double.doubleToRawLongBits(DoubleReductions.max(array))).isEqualTo(Double.doubleToRawLongBits(0.0));
+    assertThat(Double.doubleToRawLongBits(DoubleReductions.max(tiled))).isEqualTo(Double.doubleToRawLongBits(0.0));
+  }
+
+  @Test
+  public void sum_deterministic() {
+    Random random = new Random(4711);
+    Double2DArray array = Double2DArray.newInstance(random.doubles(500 * 300, -1e6, 1e6).toArray(), 500, 300);
+    double sequential = DoubleReductions.sum(array);
+    double variance = DoubleReductions.variance(array);
+
+    ForkJoinPool pool = new ForkJoinPool(3);
+    try {
+      ParallelExecution.enable(pool, 0);
+      for (int i = 0; i < 5; i++) {
+        assertThat(DoubleReductions.sum(array)).isEqualTo(sequential);
+        assertThat(DoubleReductions.variance(array)).isEqualTo(variance);
+      }
+    } finally {
+      ParallelExecution.disable();
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  public void sum_independentOfLayout() {
+    // 150 columns span three tiles, so the rows of the tiled layout consist of several spans
+    Random random = new Random(42);
+    double[] data = random.doubles(150 * 70).map(d -> Math.scalb(d - 0.5, random.nextInt(60) - 30)).toArray();
+    Double2DArray array = Double2DArray.newInstance(data, 150, 70);
+    long sum = Double.doubleToRawLongBits(DoubleReductions.sum(array));
+    long variance = Double.doubleToRawLongBits(DoubleReductions.variance(array));
+
+    for (StorageLayout layout : StorageLayout.values()) {
+      Double2DArray other = Double2DArray.newInstance(150, 70, layout).fillFrom(0, 0, array);
+      assertThat(Double.doubleToRawLongBits(DoubleReductions.sum(other))).as(layout.name()).isEqualTo(sum);
+      assertThat(Double.doubleToRawLongBits(DoubleReductions.variance(other))).as(layout.name()).isEqualTo(variance);
+    }
+    Double2DArray direct = Double2DArray.newDirectInstance(150, 70).fillFrom(0, 0, array);
+    assertThat(Double.doubleToRawLongBits(DoubleReductions.sum(direct))).isEqualTo(sum);
+    Double2DArray flipped = array.copyTransform(Transformation.FLIP_X).shallowTransform(Transformation.FLIP_X);
+    assertThat(Double.doubleToRawLongBits(DoubleReductions.sum(flipped))).isEqualTo(sum);
+  }
+
+  @Test
+  public void sum_float_independentOfLayout() {
+    Random random = new Random(42);
+    Float2DArray array = Float2DArray.newInstance(150, 70);
+    array.mapInPlace(v -> (float) Math.scalb(random.nextDouble() - 0.5, random.nextInt(40) - 20));
+    long sum = Double.doubleToRawLongBits(FloatReductions.sum(array));
+
+    Float2DArray tiled = Float2DArray.newInstance(150, 70, StorageLayout.TILED).fillFrom(0, 0, array);
+    assertThat(Double.doubleToRawLongBits(FloatReductions.sum(tiled))).isEqualTo(sum);
+  }
+}
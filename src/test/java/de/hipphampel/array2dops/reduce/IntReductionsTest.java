@@ -0,0 +1,120 @@
+/*
+ * The MIT License
+ * Copyright © 2023 Johannes Hampel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.hipphampel.array2dops.reduce;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import de.hipphampel.array2dops.geom.Point;
+import de.hipphampel.array2dops.geom.Transformation;
+import de.hipphampel.array2dops.model.Int2DArray;
+import de.hipphampel.array2dops.model.ParallelExecution;
+import de.hipphampel.array2dops.model.StorageLayout;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+public class IntReductionsTest {
+
+  private final Int2DArray array = Int2DArray.newInstance(new int[]{
+      3, 1, 4, 1,
+      5, 9, 2, 6,
+      5, 3, 5, 9}, 4, 3);
+
+  @Test
+  public void sum() {
+    assertThat(IntReductions.sum(array)).isEqualTo(53);
+    assertThat(IntReductions.sum(array.shallowRegion(1, 1, 2, 2))).isEqualTo(19);
+    assertThat(IntReductions.sum(Int2DArray.newInstance(0, 3))).isZero();
+  }
+
+  @Test
+  public void sum_widened() {
+    Int2DArray large = Int2DArray.newInstance(100, 100).fill(Integer.MAX_VALUE);
+
+    assertThat(IntReductions.sum(large)).isEqualTo(10000L * Integer.MAX_VALUE);
+  }
+
+  @Test
+  public void mean_variance() {
+    Int2DArray values = Int2DArray.newInstance(new int[]{2, 4, 4, 4, 5, 5, 7, 9}, 4, 2);
+
+    assertThat(IntReductions.mean(values)).isEqualTo(5.0);
+    assertThat(IntReductions.variance(values)).isEqualTo(4.0);
+    assertThat(IntReductions.mean(Int2DArray.newInstance(0, 0))).isNaN();
+    assertThat(IntReductions.variance(Int2DArray.newInstance(0, 0))).isNaN();
+  }
+
+  @Test
+  public void count() {
+    assertThat(IntReductions.count(array, 5)).isEqualTo(3);
+    assertThat(IntReductions.count(array, 7)).isZero();
+  }
+
+  @Test
+  public void minMax() {
+    assertThat(IntReductions.min(array)).isEqualTo(1);
+    assertThat(IntReductions.max(array)).isEqualTo(9);
+    assertThat(IntReductions.argMin(array)).isEqualTo(new Point(1, 0));
+    assertThat(IntReductions.argMax(array)).isEqualTo(new Point(1, 1));
+    assertThat(IntReductions.argMax(array.shallowTransform(Transformation.ROTATE_CLOCKWISE_180))).isEqualTo(new Point(0, 0));
+  }
+
+  @Test
+  public void minMax_empty() {
+    assertThatThrownBy(() -> IntReductions.min(Int2DArray.newInstance(3, 0)))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Array is empty");
+    assertThatThrownBy(() -> IntReductions.argMax(Int2DArray.newInstance(0, 3)))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Array is empty");
+  }
+
+  @ParameterizedTest
+  @EnumSource(StorageLayout.class)
+  public void parallel(StorageLayout layout) {
+    Random random = new Random(4711);
+    Int2DArray large = Int2DArray.newInstance(300, 200, layout);
+    large.updateRowSpans(0, 0, 300, 200, (x, y, span, offset, length) -> {
+      for (int i = offset; i < offset + length; i++) {
+        span[i] = random.nextInt(1000);
+      }
+    });
+    large.set(123, 77, -1);
+    large.set(7, 150, 1000);
+
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      ParallelExecution.enable(pool, 0);
+      assertThat(IntReductions.sum(large)).isEqualTo(large.intStream().asLongStream().sum());
+      assertThat(IntReductions.count(large, 500)).isEqualTo(large.intStream().filter(v -> v == 500).count());
+      assertThat(IntReductions.argMin(large)).isEqualTo(new Point(123, 77));
+      assertThat(IntReductions.argMax(large)).isEqualTo(new Point(7, 150));
+    } finally {
+      ParallelExecution.disable();
+      pool.shutdown();
+    }
+  }
+}